@@ -0,0 +1,72 @@
+package study.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.datajpa.DataJpaApplication;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 같은 조회를 동기(/members/by-age) / 비동기(/members/async) 엔드포인트로 호출할 때 처리량 (embedded H2 + Tomcat)
+ *
+ * 클라이언트 64 명(@Threads), Tomcat 스레드 16 개, 커넥션 풀 10 개
+ * sync - Tomcat 스레드가 JDBC 응답까지 대기, 스레드가 모두 사용 중이면 요청이 accept 대기열에서 기다림
+ * async - Tomcat 스레드는 바로 반납, 조회는 repositoryExecutor(커넥션 수 만큼) 에서 실행
+ *
+ * 응답 코드별 수는 확인하지 않고 503(대기열 초과)도 1 op 로 집계 - 대기열 크기 조정 시 로그의 503 수 확인
+ */
+@State(Scope.Benchmark)
+@Threads(64)
+public class AsyncEndpointBenchmark {
+
+    private static final int ROWS = 100_000;
+
+    @Param({"by-age", "async"})
+    private String endpoint;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(DataJpaApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .properties(
+                        "spring.main.banner-mode=off",
+                        "server.port=0",
+                        "server.tomcat.threads.max=16",
+                        "spring.datasource.url=jdbc:h2:mem:asyncEndpoint;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "spring.jpa.open-in-view=false",
+                        "decorator.datasource.p6spy.enable-logging=false",
+                        "logging.level.org.hibernate.SQL=warn")
+                .run();
+
+        context.getBean(JdbcTemplate.class).update("insert into member (member_id, username, age, version)" +
+                " select x, 'member' || x, mod(x, 100), 0 from system_range(1, ?)", ROWS);
+
+        client = HttpClient.newHttpClient();
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/members/" + endpoint;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int request() throws IOException, InterruptedException {
+        int age = ThreadLocalRandom.current().nextInt(100); //한 번에 약 1000 건
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "?age=" + age)).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,65 @@
+package study.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.auditing.CurrentDateTimeProvider;
+import org.springframework.data.auditing.DateTimeProvider;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.datajpa.config.TransactionScopedAuditorAware;
+import study.datajpa.config.TransactionScopedDateTimeProvider;
+
+import java.time.Clock;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 한 트랜잭션에서 batchSize 번 auditor / 현재 시간을 조회하는 비용 (provider 만, 엔티티 저장은 AuditingPersistBenchmark)
+ * legacy: 기존 UUID.randomUUID() + CurrentDateTimeProvider
+ * transactionScoped: 트랜잭션 단위 재사용
+ */
+@State(Scope.Thread)
+public class AuditingBenchmark {
+
+    @Param({"1", "100", "1000"})
+    private int batchSize;
+
+    private final AuditorAware<String> legacyAuditor = () -> Optional.of(UUID.randomUUID().toString());
+    private final DateTimeProvider legacyDateTimeProvider = CurrentDateTimeProvider.INSTANCE;
+
+    private final AuditorAware<String> auditor = new TransactionScopedAuditorAware();
+    private final DateTimeProvider dateTimeProvider = new TransactionScopedDateTimeProvider(Clock.systemDefaultZone());
+
+    @Benchmark
+    public void legacy(Blackhole blackhole) {
+        inTransaction(() -> stamp(legacyAuditor, legacyDateTimeProvider, blackhole));
+    }
+
+    @Benchmark
+    public void transactionScoped(Blackhole blackhole) {
+        inTransaction(() -> stamp(auditor, dateTimeProvider, blackhole));
+    }
+
+    private void stamp(AuditorAware<String> auditorAware, DateTimeProvider provider, Blackhole blackhole) {
+        for (int i = 0; i < batchSize; i++) {
+            blackhole.consume(auditorAware.getCurrentAuditor());
+            blackhole.consume(provider.getNow());
+        }
+    }
+
+    /**
+     * 트랜잭션 동기화만 흉내 (트랜잭션 매니저 없이)
+     */
+    private static void inTransaction(Runnable work) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            work.run();
+        } finally {
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
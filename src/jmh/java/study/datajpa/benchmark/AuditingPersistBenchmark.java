@@ -0,0 +1,89 @@
+package study.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.auditing.AuditingHandler;
+import org.springframework.data.auditing.CurrentDateTimeProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.datajpa.DataJpaApplication;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * AuditingEntityListener 를 거쳐 회원 대량 저장 (embedded H2)
+ * AuditingBenchmark 는 provider 호출만, 여기서는 saveAllBatched 전체 (persist + auditing + flush)
+ *
+ * legacy: 기존 UUID.randomUUID() + CurrentDateTimeProvider
+ * transactionScoped: 기본 설정 (TransactionScopedAuditorAware, TransactionScopedDateTimeProvider)
+ *
+ * 1 op = rows 건 저장 (한 트랜잭션)
+ */
+@State(Scope.Benchmark)
+public class AuditingPersistBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    @Param({"legacy", "transactionScoped"})
+    private String provider;
+
+    @Param({"1000", "10000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(DataJpaApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.main.banner-mode=off",
+                        "spring.datasource.url=jdbc:h2:mem:auditingPersist;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "decorator.datasource.p6spy.enable-logging=false",
+                        "logging.level.org.hibernate.SQL=warn")
+                .run();
+
+        //AuditingEntityListener 가 사용하는 handler 의 provider 를 기존 방식으로 교체
+        if (provider.equals("legacy")) {
+            AuditingHandler auditingHandler = context.getBean(AuditingHandler.class);
+            auditingHandler.setAuditorAware(() -> Optional.of(UUID.randomUUID().toString()));
+            auditingHandler.setDateTimeProvider(CurrentDateTimeProvider.INSTANCE);
+        }
+
+        memberRepository = context.getBean(MemberRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @TearDown(Level.Invocation)
+    public void truncate() {
+        jdbcTemplate.execute("truncate table member");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int saveAllBatched() {
+        return memberRepository.saveAllBatched(members(), BATCH_SIZE);
+    }
+
+    private List<Member> members() {
+        List<Member> members = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            members.add(new Member("member" + i, i % 100, null));
+        }
+        return members;
+    }
+}
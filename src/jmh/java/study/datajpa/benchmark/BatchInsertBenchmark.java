@@ -0,0 +1,83 @@
+package study.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.DataJpaApplication;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 회원 대량 저장 처리량 (embedded H2)
+ *
+ * saveAll - 기존 방식, 영속성 컨텍스트에 전부 쌓은 뒤 커밋 시 flush
+ * saveAllBatched - batchSize 마다 flush/clear (JDBC batch + pooled 시퀀스)
+ *
+ * 1 op = rows 건 저장, rows/s = ops/s * rows
+ */
+@State(Scope.Benchmark)
+public class BatchInsertBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    @Param({"10000", "1000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+    private TransactionTemplate tx;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(DataJpaApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.main.banner-mode=off",
+                        "spring.datasource.url=jdbc:h2:mem:batchInsert;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "decorator.datasource.p6spy.enable-logging=false",
+                        "logging.level.org.hibernate.SQL=warn")
+                .run();
+
+        memberRepository = context.getBean(MemberRepository.class);
+        tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @TearDown(Level.Invocation)
+    public void truncate() {
+        jdbcTemplate.execute("truncate table member");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object saveAll() {
+        return tx.execute(status -> memberRepository.saveAll(members()).size());
+    }
+
+    @Benchmark
+    public int saveAllBatched() {
+        return memberRepository.saveAllBatched(members(), BATCH_SIZE);
+    }
+
+    private List<Member> members() {
+        List<Member> members = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            members.add(new Member("member" + i, i % 100, null));
+        }
+        return members;
+    }
+}
@@ -0,0 +1,106 @@
+package study.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.DataJpaApplication;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.OptimisticLockRetryExecutor;
+
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 같은 회원을 동시에 수정할 때 락 방식 비교 (embedded H2)
+ *
+ * PESSIMISTIC - findLockByUsername 과 같은 select ... for update (username 을 바꾸기 때문에 id 로 조회), 락을 기다리는 동안 커넥션 점유
+ * OPTIMISTIC - @Version + OptimisticLockRetryExecutor, 충돌하면 backoff 후 재시도
+ *
+ * 1 op = writers 명이 각각 UPDATES_PER_WRITER 번 수정
+ */
+@State(Scope.Benchmark)
+public class LockContentionBenchmark {
+
+    private static final int UPDATES_PER_WRITER = 10;
+    private static final String USERNAME = "contended";
+
+    @Param({"PESSIMISTIC", "OPTIMISTIC"})
+    private String mode;
+
+    @Param({"1", "8", "64"})
+    private int writers;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+    private OptimisticLockRetryExecutor retryExecutor;
+    private TransactionTemplate tx;
+    private EntityManager em;
+    private ExecutorService executor;
+    private Long memberId;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(DataJpaApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.main.banner-mode=off",
+                        "spring.datasource.url=jdbc:h2:mem:contention;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000",
+                        "spring.datasource.hikari.connection-timeout=60000", //64 명이 커넥션 10개를 기다림
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "datajpa.optimistic-retry.max-attempts=1000",
+                        "decorator.datasource.p6spy.enable-logging=false",
+                        "logging.level.org.hibernate.SQL=warn")
+                .run();
+
+        memberRepository = context.getBean(MemberRepository.class);
+        retryExecutor = context.getBean(OptimisticLockRetryExecutor.class);
+        tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        em = context.getBean(EntityManager.class);
+        executor = Executors.newFixedThreadPool(writers);
+        memberId = memberRepository.save(new Member(USERNAME, 10, null)).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+        context.close();
+    }
+
+    @Benchmark
+    public long update() throws Exception {
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < writers; i++) {
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < UPDATES_PER_WRITER; j++) {
+                    updateOnce();
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        return sequence.get();
+    }
+
+    private void updateOnce() {
+        String username = USERNAME + sequence.incrementAndGet();
+        if ("PESSIMISTIC".equals(mode)) {
+            tx.executeWithoutResult(status ->
+                    em.find(Member.class, memberId, LockModeType.PESSIMISTIC_WRITE).changeUsername(username));
+        } else {
+            retryExecutor.run(() ->
+                    memberRepository.findById(memberId).orElseThrow().changeUsername(username));
+        }
+    }
+}
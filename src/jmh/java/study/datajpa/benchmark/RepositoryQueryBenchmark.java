@@ -0,0 +1,140 @@
+package study.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.DataJpaApplication;
+import study.datajpa.dto.MemberDto;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.*;
+
+import java.util.List;
+
+/**
+ * 같은 데이터를 조회하는 방법별 성능 비교 (embedded H2)
+ *
+ * 단건 조회(username) - derived, JPQL, NamedQuery, EntityGraph, Projection, Native
+ * 전체 조회 - fetch join, EntityGraph, DTO
+ *
+ * 엔티티를 반환하는 조회는 team 까지 접근해서 지연 로딩(N+1) 비용도 포함
+ */
+@State(Scope.Benchmark)
+public class RepositoryQueryBenchmark {
+
+    private static final int TEAM_COUNT = 100;
+
+    @Param({"1000", "100000", "1000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+    private TransactionTemplate readOnlyTx;
+    private String username;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(DataJpaApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.main.banner-mode=off",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        //2차 캐시/쿼리 캐시 hit 가 아니라 조회 방식 자체를 비교
+                        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "decorator.datasource.p6spy.enable-logging=false",
+                        "logging.level.org.hibernate.SQL=warn")
+                .run();
+
+        memberRepository = context.getBean(MemberRepository.class);
+        readOnlyTx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTx.setReadOnly(true);
+
+        //JPA 를 거치면 적재 시간이 벤치마크보다 길어지기 때문에 H2 system_range 로 한 번에 적재
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("insert into team (team_id, name, version)" +
+                " select x, 'team' || x, 0 from system_range(1, ?)", TEAM_COUNT);
+        jdbcTemplate.update("insert into member (member_id, username, age, team_id, version)" +
+                " select x, 'member' || x, mod(x, 100), mod(x, ?) + 1, 0 from system_range(1, ?)", TEAM_COUNT, rows);
+
+        username = "member" + (rows / 2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object derivedQuery() {
+        return readOnlyTx.execute(status -> touchTeam(memberRepository.findListByUsername(username)));
+    }
+
+    @Benchmark
+    public Object jpqlQuery() {
+        return readOnlyTx.execute(status -> touchTeam(memberRepository.findUser(username, rows / 2 % 100)));
+    }
+
+    @Benchmark
+    public Object namedQuery() {
+        return readOnlyTx.execute(status -> touchTeam(memberRepository.findByUsername(username)));
+    }
+
+    @Benchmark
+    public Object entityGraph() {
+        return readOnlyTx.execute(status -> touchTeam(memberRepository.findEntityGraphByUsername(username)));
+    }
+
+    @Benchmark
+    public Object readOnlyHint() {
+        return memberRepository.findReadOnlyByUsername(username);
+    }
+
+    @Benchmark
+    public List<UsernameOnly> openProjection() {
+        return memberRepository.findProjectionsByUsername(username);
+    }
+
+    @Benchmark
+    public List<UsernameOnlyDto> classProjection() {
+        return memberRepository.findProjectionsV2ByUsername(username);
+    }
+
+    @Benchmark
+    public List<NestedClosedProjections> nestedClosedProjection() {
+        return memberRepository.findProjectionsV3ByUsername(username, NestedClosedProjections.class);
+    }
+
+    @Benchmark
+    public Member nativeQuery() {
+        return memberRepository.findByNativeQuery(username);
+    }
+
+    @Benchmark
+    public Object fetchJoinAll() {
+        return readOnlyTx.execute(status -> touchTeam(memberRepository.findMemberFetchJoin()));
+    }
+
+    @Benchmark
+    public Object entityGraphAll() {
+        return readOnlyTx.execute(status -> touchTeam(memberRepository.findMemberEntityGraph()));
+    }
+
+    @Benchmark
+    public List<MemberDto> dtoAll() {
+        return memberRepository.findMemberDto();
+    }
+
+    private static long touchTeam(List<Member> members) {
+        long sum = 0;
+        for (Member member : members) {
+            sum += member.getTeam().getName().length();
+        }
+        return sum;
+    }
+}
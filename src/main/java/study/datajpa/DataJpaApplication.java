@@ -2,26 +2,42 @@ package study.datajpa;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.context.annotation.Bean;
+import org.springframework.data.auditing.DateTimeProvider;
 import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import study.datajpa.config.TransactionScopedAuditorAware;
+import study.datajpa.config.TransactionScopedDateTimeProvider;
 
-import java.util.Optional;
-import java.util.UUID;
+import java.time.Clock;
 
-@EnableJpaAuditing
+@EnableJpaAuditing(dateTimeProviderRef = "auditingDateTimeProvider")
 @SpringBootApplication
 //@EnableJpaRepositories(basePackages = "study.datajpa.repository")
 public class DataJpaApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(DataJpaApplication.class, args);
+//		SpringApplication.run(DataJpaApplication.class, args);
+		SpringApplication application = new SpringApplication(DataJpaApplication.class);
+		// 빈 생성 등 시작 단계별 소요 시간 기록 - /actuator/startup, StartupTimelineReporter
+		application.setApplicationStartup(new BufferingApplicationStartup(4096));
+		application.run(args);
 	}
 
+	/**
+	 * 대량 저장 시 엔티티마다 UUID, 현재 시간을 새로 구하지 않도록 트랜잭션 단위로 재사용
+	 */
 	@Bean
 	public AuditorAware<String> auditorProvider() {
 //		SpringSessionContext
-		return () -> Optional.of(UUID.randomUUID().toString());
+//		return () -> Optional.of(UUID.randomUUID().toString());
+		return new TransactionScopedAuditorAware();
+	}
+
+	@Bean
+	public DateTimeProvider auditingDateTimeProvider() {
+		return new TransactionScopedDateTimeProvider(Clock.systemDefaultZone());
 	}
 
 
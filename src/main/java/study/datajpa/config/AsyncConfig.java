@@ -0,0 +1,52 @@
+package study.datajpa.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Repository 비동기 조회 (@Async("repositoryExecutor") + CompletableFuture 반환)
+ *
+ * 스레드 수 = 커넥션 풀 크기 -> 동시에 DB 를 쓰는 스레드가 커넥션보다 많아지지 않음
+ * 대기열(queue-capacity)까지 차면 TaskRejectedException (컨트롤러에서 503) 으로 바로 거절
+ *
+ * Java 21 이상이면 Executors.newVirtualThreadPerTaskExecutor() + 커넥션 수 만큼의 Semaphore 로 교체 가능 (현재 baseline 17)
+ */
+@EnableAsync
+@Configuration
+public class AsyncConfig {
+
+    public static final String REPOSITORY_EXECUTOR = "repositoryExecutor";
+
+    /**
+     * Executor 빈을 직접 등록하면 Boot 기본 applicationTaskExecutor 가 빠지기 때문에 같은 이름으로 유지
+     * (deferred JPA bootstrap, MVC 비동기 요청, 기본 @Async 가 사용)
+     */
+    @Lazy
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            "taskExecutor"})
+    public ThreadPoolTaskExecutor applicationTaskExecutor(TaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    @Bean(REPOSITORY_EXECUTOR)
+    public ThreadPoolTaskExecutor repositoryExecutor(
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+            @Value("${datajpa.async.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("repository-");
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+}
@@ -0,0 +1,103 @@
+package study.datajpa.config;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberVersion;
+import study.datajpa.repository.MemberVersionRegistry;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Member insert / update / delete 가 커밋된 후 MemberVersionRegistry 갱신
+ *
+ * dirty checking 으로 바뀌는 변경(changeUsername 등)은 Repository 메서드를 거치지 않기 때문에 Hibernate 이벤트 사용
+ * EntityManagerFactory 생성 시 integrator 로 등록 (hibernate.integrator_provider)
+ *
+ * MemberVersionRegistry 는 EntityManager 를 사용하기 때문에 생성 순환을 피하려고 이벤트 시점에 조회
+ */
+@Component
+public class MemberVersionEventListener implements HibernatePropertiesCustomizer,
+        PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private final ObjectProvider<MemberVersionRegistry> registry;
+
+    public MemberVersionEventListener(ObjectProvider<MemberVersionRegistry> registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put("hibernate.integrator_provider", (IntegratorProvider) () -> List.of(new Integrator() {
+            @Override
+            public void integrate(Metadata metadata, SessionFactoryImplementor sessionFactory,
+                                  SessionFactoryServiceRegistry serviceRegistry) {
+                EventListenerRegistry listeners = serviceRegistry.getService(EventListenerRegistry.class);
+                listeners.appendListeners(EventType.POST_COMMIT_INSERT, MemberVersionEventListener.this);
+                listeners.appendListeners(EventType.POST_COMMIT_UPDATE, MemberVersionEventListener.this);
+                listeners.appendListeners(EventType.POST_COMMIT_DELETE, MemberVersionEventListener.this);
+            }
+
+            @Override
+            public void disintegrate(SessionFactoryImplementor sessionFactory,
+                                     SessionFactoryServiceRegistry serviceRegistry) {
+            }
+        }));
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Member) {
+            registry.getObject().changed(MemberVersion.of((Member) event.getEntity()));
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Member) {
+            registry.getObject().changed(MemberVersion.of((Member) event.getEntity()));
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Member) {
+            registry.getObject().removed((Long) event.getId());
+        }
+    }
+
+    //커밋 실패 시 registry 는 갱신 전이기 때문에 할 일 없음
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return Member.class.equals(persister.getMappedClass());
+    }
+}
@@ -0,0 +1,93 @@
+package study.datajpa.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * replica 사용 가능 여부를 주기적으로 확인
+ *
+ * lagQuery 결과(초)가 maxLag 이하일 때만 사용, 쿼리가 실패하면 사용 불가
+ * ex) PostgreSQL: select extract(epoch from now() - pg_last_xact_replay_timestamp())
+ * lagQuery 가 없으면(H2 등) DEFAULT_LAG_QUERY 로 member 테이블 존재만 확인 (지연 0)
+ * - 연결만 확인하면 스키마가 없는 replica 로 라우팅되고, 오류는 쿼리 시점이라 getConnection 의 primary 우회도 동작하지 않음
+ */
+@Slf4j
+public class ReplicaLagMonitor implements InitializingBean, DisposableBean {
+
+    static final String DEFAULT_LAG_QUERY = "select 0 from member where 1 = 0";
+
+    private final DataSource replica;
+    private final String lagQuery;
+    private final Duration maxLag;
+    private final Duration checkInterval;
+
+    private volatile boolean available = true;
+    private ScheduledExecutorService scheduler;
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, Duration maxLag, Duration checkInterval) {
+        this.replica = replica;
+        this.lagQuery = lagQuery == null || lagQuery.isBlank() ? DEFAULT_LAG_QUERY : lagQuery;
+        this.maxLag = maxLag;
+        this.checkInterval = checkInterval;
+    }
+
+    public boolean isReplicaAvailable() {
+        return available;
+    }
+
+    /**
+     * 다음 확인 전까지 primary 로 우회
+     */
+    public void markUnavailable(Exception cause) {
+        if (available) {
+            log.warn("replica 사용 불가 - primary 로 우회", cause);
+        }
+        available = false;
+    }
+
+    void check() {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            double lagSeconds = resultSet.next() ? resultSet.getDouble(1) : 0;
+            updateAvailable(lagSeconds * 1000 <= maxLag.toMillis(), "지연 " + lagSeconds + "s");
+        } catch (SQLException e) {
+            markUnavailable(e);
+        }
+    }
+
+    private void updateAvailable(boolean ok, String reason) {
+        if (available && !ok) {
+            log.warn("replica 사용 불가 - primary 로 우회 ({})", reason);
+        } else if (!available && ok) {
+            log.info("replica 복구");
+        }
+        available = ok;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::check, 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+}
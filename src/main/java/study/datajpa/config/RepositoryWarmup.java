@@ -0,0 +1,92 @@
+package study.datajpa.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StopWatch;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.CountStrategy;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.MemberSpec;
+import study.datajpa.repository.TeamRepository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 애플리케이션 준비 완료(ApplicationReadyEvent, readiness) 전에 주요 Repository 메서드를 미리 실행
+ * 첫 요청이 Hibernate 메타데이터, 프록시 클래스 로딩, JIT 비용을 떠안지 않도록 함
+ *
+ * datajpa.warmup.enabled=true 일 때만 동작
+ * 운영 데이터에서도 실행될 수 있기 때문에 존재하지 않는 값 조회, 작은 페이지 조회만 사용
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "datajpa.warmup", name = "enabled", havingValue = "true")
+public class RepositoryWarmup implements ApplicationRunner {
+
+    private static final String NOT_EXISTS = "__warmup__";
+
+    private final MemberRepository memberRepository;
+    private final TeamRepository teamRepository;
+    private final TransactionTemplate readOnlyTx;
+    private final int iterations;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    public RepositoryWarmup(MemberRepository memberRepository,
+                            TeamRepository teamRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${datajpa.warmup.iterations:50}") int iterations) {
+        this.memberRepository = memberRepository;
+        this.teamRepository = teamRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.iterations = iterations;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        StopWatch stopWatch = new StopWatch("repository warm-up (" + iterations + " iterations)");
+        for (Map.Entry<String, Runnable> task : tasks().entrySet()) {
+            stopWatch.start(task.getKey());
+            for (int i = 0; i < iterations; i++) {
+                readOnlyTx.executeWithoutResult(status -> task.getValue().run());
+            }
+            stopWatch.stop();
+        }
+        log.info(stopWatch.prettyPrint());
+    }
+
+    private Map<String, Runnable> tasks() {
+        PageRequest pageRequest = PageRequest.of(0, 10, Sort.by("username"));
+
+        Map<String, Runnable> tasks = new LinkedHashMap<>();
+        tasks.put("metamodel", () -> em.getMetamodel().getEntities());
+        tasks.put("Team proxy", () -> em.getReference(Team.class, -1L));
+        tasks.put("TeamRepository.findById", () -> teamRepository.findById(-1L));
+        tasks.put("MemberRepository.findById", () -> memberRepository.findById(-1L));
+        tasks.put("MemberRepository.findByUsername", () -> memberRepository.findByUsername(NOT_EXISTS));
+        tasks.put("MemberRepository.findListByUsername", () -> memberRepository.findListByUsername(NOT_EXISTS));
+        tasks.put("MemberRepository.findOptionalByUsername", () -> memberRepository.findOptionalByUsername(NOT_EXISTS));
+        tasks.put("MemberRepository.findUser", () -> memberRepository.findUser(NOT_EXISTS, 0));
+        tasks.put("MemberRepository.findEntityGraphByUsername", () -> memberRepository.findEntityGraphByUsername(NOT_EXISTS));
+        tasks.put("MemberRepository.findReadOnlyByUsername", () -> memberRepository.findReadOnlyByUsername(NOT_EXISTS));
+        tasks.put("MemberRepository.findSliceByAge", () -> memberRepository.findSliceByAge(-1, pageRequest));
+        tasks.put("MemberRepository.findMemberDtoPage", () -> memberRepository.findMemberDtoPage(pageRequest, CountStrategy.CACHED));
+        tasks.put("MemberRepository.findKeysetPage", () -> memberRepository.findKeysetPage(Long.MAX_VALUE, 10));
+        tasks.put("MemberRepository.findAll(Specification)", () -> memberRepository.findAll(
+                MemberSpec.username(NOT_EXISTS).and(MemberSpec.teamName(NOT_EXISTS))));
+        return tasks;
+    }
+}
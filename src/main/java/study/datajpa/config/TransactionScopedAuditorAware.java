@@ -0,0 +1,34 @@
+package study.datajpa.config;
+
+import org.springframework.data.domain.AuditorAware;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 등록자/수정자 - 트랜잭션마다 한 번만 생성
+ *
+ * UUID.randomUUID() 는 SecureRandom 을 사용하기 때문에 엔티티마다 호출하면 비용이 큼
+ * 실제 사용자 정보가 아닌 임의 값이므로 ThreadLocalRandom 으로 생성
+ */
+public class TransactionScopedAuditorAware implements AuditorAware<String> {
+
+    private final TransactionScopedValue<Optional<String>> auditor =
+            new TransactionScopedValue<>(() -> Optional.of(randomUuid()));
+
+    @Override
+    public Optional<String> getCurrentAuditor() {
+        return auditor.get();
+    }
+
+    /**
+     * version 4 UUID
+     */
+    private static String randomUuid() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSigBits = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long leastSigBits = (random.nextLong() & ~0xC000000000000000L) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits).toString();
+    }
+}
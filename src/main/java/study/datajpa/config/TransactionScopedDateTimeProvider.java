@@ -0,0 +1,27 @@
+package study.datajpa.config;
+
+import org.springframework.data.auditing.DateTimeProvider;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAccessor;
+import java.util.Optional;
+
+/**
+ * 등록일/수정일 - 트랜잭션 시간 (한 트랜잭션에서 저장한 엔티티는 같은 시간)
+ *
+ * LocalDateTime.now() 는 호출할 때마다 기본 TimeZone 을 조회하기 때문에 Clock 을 만들어 두고 재사용
+ */
+public class TransactionScopedDateTimeProvider implements DateTimeProvider {
+
+    private final TransactionScopedValue<Optional<TemporalAccessor>> now;
+
+    public TransactionScopedDateTimeProvider(Clock clock) {
+        this.now = new TransactionScopedValue<>(() -> Optional.of(LocalDateTime.now(clock)));
+    }
+
+    @Override
+    public Optional<TemporalAccessor> getNow() {
+        return now.get();
+    }
+}
@@ -0,0 +1,54 @@
+package study.datajpa.config;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * 트랜잭션 동안 한 번만 계산하고 재사용하는 값
+ * 트랜잭션이 끝나면 제거, 트랜잭션 밖에서는 매번 계산
+ *
+ * bindResource 로 묶은 값은 REQUIRES_NEW / NOT_SUPPORTED 로 트랜잭션이 중단되어도 그대로 남기 때문에
+ * suspend 에서 풀고 resume 에서 다시 묶음 - 안쪽 트랜잭션은 자기 값을 따로 계산
+ */
+class TransactionScopedValue<T> {
+
+    private final Object resourceKey = new Object();
+    private final Supplier<T> supplier;
+
+    TransactionScopedValue(Supplier<T> supplier) {
+        this.supplier = supplier;
+    }
+
+    @SuppressWarnings("unchecked")
+    T get() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return supplier.get();
+        }
+
+        T value = (T) TransactionSynchronizationManager.getResource(resourceKey);
+        if (value == null) {
+            T bound = supplier.get();
+            TransactionSynchronizationManager.bindResource(resourceKey, bound);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void suspend() {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(resourceKey);
+                }
+
+                @Override
+                public void resume() {
+                    TransactionSynchronizationManager.bindResource(resourceKey, bound);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(resourceKey);
+                }
+            });
+            value = bound;
+        }
+        return value;
+    }
+}
@@ -1,23 +1,62 @@
 package study.datajpa.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import study.datajpa.dto.CursorResult;
 import study.datajpa.dto.MemberDto;
+import study.datajpa.dto.MemberSearchCondition;
 import study.datajpa.entity.Member;
+import study.datajpa.repository.CountStrategy;
+import study.datajpa.repository.InvalidSortPropertyException;
 import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.MemberVersion;
+import study.datajpa.repository.MemberVersionRegistry;
 
 import javax.annotation.PostConstruct;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 @RestController
 @RequiredArgsConstructor
 public class MemberController {
 
+    private static final int MAX_CURSOR_SIZE = 2000;
+    private static final int EXPORT_FETCH_SIZE = 1000;
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
     private final MemberRepository memberRepository;
+    private final MemberVersionRegistry versionRegistry;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
 
 //    @GetMapping("/members/{id}")
     public String findMember(@PathVariable("id") Long id) {
@@ -29,11 +68,28 @@ public class MemberController {
      * Spring Data JPA 기능
      * find 없이 member.getUsername 바로 반환 가능
      */
-    @GetMapping("/members/{id}")
+//    @GetMapping("/members/{id}")
     public String findMemberV2(@PathVariable("id") Member member) {
         return member.getUsername();
     }
 
+    /**
+     * 조건부 GET - If-None-Match(ETag = @Version) / If-Modified-Since(lastModifiedDate) 가 같으면 304
+     * 버전은 MemberVersionRegistry 에서 확인, 변경되지 않았으면 엔티티 조회/직렬화 X
+     * (도메인 클래스 컨버터는 핸들러 전에 엔티티를 조회하기 때문에 id 로 받음)
+     */
+    @GetMapping("/members/{id}")
+    public String findMemberV3(@PathVariable("id") Long id, WebRequest request) {
+        MemberVersion version = versionRegistry.find(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        if (request.checkNotModified(version.getETag(), version.getLastModifiedMillis())) {
+            return null;
+        }
+        return memberRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND))
+                .getUsername();
+    }
+
     /**
      * /members?page=0&size=3&sort=id,desc&sort=username
      *
@@ -41,16 +97,159 @@ public class MemberController {
      * @Qualifier("member") Pageable memberPageable
      * @Qualifier("order") Pageable orderPageable
      * /members?member_page=0&order_page=1
+     *
+     * count 는 짧은 시간 캐시된 값 사용 (CountStrategy.CACHED)
+     * 엔티티를 조회해서 변환하지 않고 DTO 로 바로 조회 (teamName 포함)
+     * 회원이 바뀌지 않았으면 304 (ETag = 회원 변경 세대 번호, URL 마다 캐시되기 때문에 page/sort 는 포함 X)
      */
     @GetMapping("/members")
-    public Page<MemberDto> list(@PageableDefault(size = 5) Pageable pageable) {
-        return memberRepository.findAll(pageable).map(MemberDto::new);
+    public Page<MemberDto> list(@PageableDefault(size = 5) Pageable pageable, WebRequest request) {
+        if (request.checkNotModified(versionRegistry.getListETag(), versionRegistry.getLastModified())) {
+            return null;
+        }
+        return memberRepository.findMemberDtoPage(pageable, CountStrategy.CACHED);
+    }
+
+    /**
+     * 비동기 조회 - 조회하는 동안 Tomcat 스레드를 반납 (MVC async)
+     * repositoryExecutor 대기열이 가득 차면 503
+     */
+    @GetMapping("/members/async")
+    public CompletableFuture<List<MemberDto>> findByAgeAsync(@RequestParam("age") int age) {
+        return memberRepository.findMemberDtoAsyncByAge(age);
+    }
+
+    /**
+     * /members/async 와 같은 조회를 Tomcat 스레드에서 실행 (AsyncEndpointBenchmark 비교 대상)
+     */
+    @GetMapping("/members/by-age")
+    public List<MemberDto> findByAge(@RequestParam("age") int age) {
+        return memberRepository.findMemberDtoByAge(age);
+    }
+
+    @ExceptionHandler(TaskRejectedException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public void rejected() {
+    }
+
+    /**
+     * 허용되지 않은 sort 속성 (/members, /members/search) - 500 이 아니라 400
+     */
+    @ExceptionHandler(InvalidSortPropertyException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public String invalidSort(InvalidSortPropertyException e) {
+        return e.getMessage();
+    }
+
+    /**
+     * 동적 검색
+     * /members/search?username=member1&ageGoe=10&ageLoe=20&teamName=teamA&page=0&size=5&sort=age,desc
+     */
+    @GetMapping("/members/search")
+    public Page<MemberDto> search(MemberSearchCondition condition, @PageableDefault(size = 5) Pageable pageable) {
+        return memberRepository.search(condition, pageable);
+    }
+
+    /**
+     * Keyset 페이징
+     * /members/keyset?size=5 -> 응답의 nextCursor 로 /members/keyset?cursor={nextCursor}&size=5
+     *
+     * offset 을 쓰지 않기 때문에 깊은 페이지도 첫 페이지와 조회 비용이 같음
+     */
+    @GetMapping("/members/keyset")
+    public CursorResult<MemberDto> listByCursor(@RequestParam(required = false) String cursor,
+                                                @RequestParam(defaultValue = "5") int size) {
+        if (size < 1 || size > MAX_CURSOR_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size 는 1 ~ " + MAX_CURSOR_SIZE);
+        }
+
+        Slice<MemberDto> slice = memberRepository.findMemberDtoKeysetPage(decodeCursor(cursor), size);
+
+        List<MemberDto> content = slice.getContent();
+        String nextCursor = slice.hasNext()
+                ? encodeCursor(content.get(content.size() - 1).getId())
+                : null;
+        return new CursorResult<>(content, nextCursor);
+    }
+
+    /**
+     * 전체 회원 export
+     * /members/export (NDJSON), /members/export?format=csv
+     *
+     * 결과를 메모리에 모으지 않고 DB 에서 읽는 대로 응답에 씀 - 회원 수와 관계 없이 메모리 사용량 일정
+     * 응답은 별도 스레드에서 쓰기 때문에 스트림을 소비하는 동안 읽기 전용 트랜잭션을 직접 염
+     */
+    @GetMapping("/members/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "ndjson") String format) {
+        boolean csv = "csv".equalsIgnoreCase(format);
+
+        TransactionTemplate readOnlyTx = new TransactionTemplate(transactionManager);
+        readOnlyTx.setReadOnly(true);
+
+        StreamingResponseBody body = out -> readOnlyTx.executeWithoutResult(status -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            try (Stream<MemberDto> members = memberRepository.streamMemberDto(EXPORT_FETCH_SIZE)) {
+                if (csv) {
+                    writer.write("id,username,teamName\n");
+                }
+                int row = 0;
+                for (MemberDto member : (Iterable<MemberDto>) members::iterator) {
+                    writer.write(csv ? toCsvLine(member) : objectMapper.writeValueAsString(member));
+                    writer.write('\n');
+                    if (++row % EXPORT_FETCH_SIZE == 0) {
+                        writer.flush();
+                    }
+                }
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        return ResponseEntity.ok()
+                .contentType(csv ? TEXT_CSV : APPLICATION_NDJSON)
+                .body(body);
     }
 
 //    @PostConstruct
     public void init() {
+        List<Member> members = new ArrayList<>();
         for(int i=0; i<100; i++) {
-            memberRepository.save(new Member("user"+i, i, null));
+            members.add(new Member("user"+i, i, null));
+        }
+        memberRepository.saveAllBatched(members, 100);
+    }
+
+    /**
+     * cursor 는 클라이언트에게 의미 없는 값(opaque)으로 노출
+     */
+    private static String encodeCursor(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String toCsvLine(MemberDto member) {
+        return member.getId() + "," + csvValue(member.getUsername()) + "," + csvValue(member.getTeamName());
+    }
+
+    private static String csvValue(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    private static Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "잘못된 cursor", e);
         }
     }
 }
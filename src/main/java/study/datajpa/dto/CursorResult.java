@@ -0,0 +1,23 @@
+package study.datajpa.dto;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Keyset 페이징 응답
+ * nextCursor 를 그대로 다음 요청의 cursor 로 전달
+ */
+@Getter
+public class CursorResult<T> {
+
+    private final List<T> content;
+    private final String nextCursor;
+    private final boolean hasNext;
+
+    public CursorResult(List<T> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasNext = nextCursor != null;
+    }
+}
@@ -0,0 +1,17 @@
+package study.datajpa.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 회원 검색 조건 - 값이 없는(null, 빈 문자열) 조건은 무시
+ * /members/search?username=member1&ageGoe=10&ageLoe=20&teamName=teamA
+ */
+@Getter @Setter
+public class MemberSearchCondition {
+
+    private String username;
+    private Integer ageGoe;
+    private Integer ageLoe;
+    private String teamName;
+}
@@ -0,0 +1,17 @@
+package study.datajpa.dto;
+
+import lombok.Getter;
+
+@Getter
+public class TeamMemberCountDto {
+
+    private Long teamId;
+    private String teamName;
+    private long memberCount;
+
+    public TeamMemberCountDto(Long teamId, String teamName, long memberCount) {
+        this.teamId = teamId;
+        this.teamName = teamName;
+        this.memberCount = memberCount;
+    }
+}
@@ -0,0 +1,20 @@
+package study.datajpa.entity;
+
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.MappedSuperclass;
+
+/**
+ * Id를 직접 할당하는 엔티티의 공통 부모
+ *
+ * 식별자에 값이 있으면 save 가 merge(SELECT 후 저장)를 호출하기 때문에
+ * 생성일(@CreatedDate)이 없으면 새 엔티티로 판단하여 persist 하도록 함
+ */
+@MappedSuperclass
+public abstract class AssignedIdEntity<ID> extends BaseTimeEntity implements Persistable<ID> {
+
+    @Override
+    public boolean isNew() {
+        return getCreatedDate() == null;
+    }
+}
@@ -1,28 +1,62 @@
 package study.datajpa.entity;
 
 import lombok.*;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 
 @Entity
+@Table(indexes = {
+        // username 단독 조회(findByUsername 등)도 왼쪽 컬럼으로 사용, username + age 조건은 인덱스만으로 필터
+        @Index(name = "idx_member_username_age", columnList = "username, age"),
+        @Index(name = "idx_member_age", columnList = "age") // findSliceByAge, bulkAgePlus, Member.findByPage
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE) // username 조회 쿼리 캐시는 id 만 저장하기 때문에 엔티티도 캐시
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "username", "age"})
-@NamedQuery(
-        name = "Member.findByUsername",
-        query = "select m from Member m where m.username = :username"
-)
+@NamedQueries({
+        @NamedQuery(
+                name = "Member.findByUsername",
+                query = "select m from Member m where m.username = :username"
+        ),
+        // 애플리케이션 로딩 시점에 파싱되어 query plan cache 에 올라감 (MemberJpaRepository 에서 사용)
+        // MemberRepository 메서드 이름과 겹치면 Spring Data 가 NamedQuery 로 사용하기 때문에 다른 이름 사용
+        @NamedQuery(
+                name = "Member.findByUsernameAndMinAge",
+                query = "select m from Member m where m.username = :username and m.age >= :age"
+        ),
+        @NamedQuery(
+                name = "Member.findByPage",
+                query = "select m from Member m where m.age >= :age order by m.username desc"
+        ),
+        @NamedQuery(
+                name = "Member.totalCount",
+                query = "select count(m) from Member m where m.age >= :age"
+        )
+})
 @NamedEntityGraph(
         name = "Member.all", attributeNodes = @NamedAttributeNode("team")
 )
+@SequenceGenerator(
+        name = "member_seq_generator",
+        sequenceName = "member_seq",
+        allocationSize = 50 // pooled optimizer - 시퀀스 한 번 호출로 50개 식별자 사용
+)
 public class Member extends BaseEntity {
 
-    @Id @GeneratedValue
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "member_seq_generator")
     @Column(name = "member_id")
     private Long id;
     private String username;
     private int age;
 
+    @Version // 낙관적 락 - 동시 수정 시 나중 커밋이 ObjectOptimisticLockingFailureException (OptimisticLockRetryExecutor 로 재시도)
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "team_id")
     private Team team;
@@ -39,9 +73,22 @@ public class Member extends BaseEntity {
         }
     }
 
+    /**
+     * 컬렉션이 초기화되어 있을 때만 메모리 상태를 맞추고, 초기화되지 않은 컬렉션은 로딩하지 않음
+     * - 이전 팀: remove 는 컬렉션을 초기화하기 때문에 이미 로딩된 경우에만 제거
+     * - 새 팀: 초기화되지 않은 inverse 컬렉션의 add 는 큐에 쌓였다가 초기화 시 반영 (조회 X)
+     *         프록시(getReference)면 getMembers() 가 Team 을 조회하기 때문에 호출하지 않음
+     * Team.members 2차 캐시는 hibernate.cache.auto_evict_collection_cache 로 무효화
+     */
     public void changeTeam(Team team) {
+        if (this.team != null && Hibernate.isInitialized(this.team)
+                && Hibernate.isInitialized(this.team.getMembers())) {
+            this.team.getMembers().remove(this);
+        }
         this.team = team;
-        team.getMembers().add(this);
+        if (Hibernate.isInitialized(team)) {
+            team.getMembers().add(this);
+        }
     }
 
     public void changeUsername(String username) {
@@ -5,22 +5,40 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.LazyCollection;
+import org.hibernate.annotations.LazyCollectionOption;
+import org.hibernate.annotations.OptimisticLock;
 
 import javax.persistence.*;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE) // 거의 변경되지 않기 때문에 2차 캐시 사용
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "name"})
+@SequenceGenerator(
+        name = "team_seq_generator",
+        sequenceName = "team_seq",
+        allocationSize = 50
+)
 public class Team extends BaseEntity {
 
-    @Id @GeneratedValue
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "team_seq_generator")
     @Column(name = "team_id")
     private Long id;
     private String name;
 
+    @Version
+    private Long version;
+
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+    @OptimisticLock(excluded = true) // 연관관계 주인은 Member.team, 회원 추가/이동 시 Team 버전 증가(충돌) X
+    @LazyCollection(LazyCollectionOption.EXTRA) // size() 는 count 쿼리, add() 는 초기화 없이 큐에 저장 - 회원이 많은 팀도 컬렉션 전체 로딩 X
     @OneToMany(mappedBy = "team")
     private List<Member> members = new ArrayList<>();
 
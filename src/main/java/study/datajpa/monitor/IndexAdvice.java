@@ -0,0 +1,29 @@
+package study.datajpa.monitor;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * 인덱스 없이 실행될(full scan) Repository 메서드와 추천 인덱스
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class IndexAdvice {
+
+    private final String repository;
+    private final String method;
+    private final String table;
+    private final List<String> columns;
+
+    /**
+     * 추천 DDL - @Table(indexes = @Index(columnList = "...")) 로 옮기면 ddl-auto 가 생성
+     */
+    public String getDdl() {
+        return "create index idx_" + table + "_" + String.join("_", columns) +
+                " on " + table + " (" + String.join(", ", columns) + ")";
+    }
+}
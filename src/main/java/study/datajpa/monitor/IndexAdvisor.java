@@ -0,0 +1,195 @@
+package study.datajpa.monitor;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.mapping.PropertyPath;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+import javax.persistence.Column;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.JoinColumn;
+import javax.persistence.Table;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 시작 시 Repository 쿼리 메서드(메서드 이름 쿼리)의 조건 컬럼과 엔티티 인덱스(@Table indexes, PK)를 비교
+ *
+ * 조건 컬럼이 어떤 인덱스의 첫 번째 컬럼도 아니면 full scan 으로 보고 인덱스 추천 (warn 로그)
+ * 추천 순서: 동등 조건 컬럼 -> 범위 조건 컬럼 -> (프로젝션이면) 조회 컬럼 = covering index
+ *
+ * @Query / NamedQuery 메서드는 JPQL 을 해석하지 않기 때문에 제외
+ * 연관 엔티티 조건(team.name 등)은 조인 대상 테이블 조건이라 제외
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "datajpa.index-advisor", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class IndexAdvisor {
+
+    private static final Set<Part.Type> EQUALITY = EnumSet.of(
+            Part.Type.SIMPLE_PROPERTY, Part.Type.IN, Part.Type.TRUE, Part.Type.FALSE, Part.Type.IS_NULL);
+
+    private final ListableBeanFactory beanFactory;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report() {
+        List<IndexAdvice> advices = advise();
+        for (IndexAdvice advice : advices) {
+            log.warn("full scan {}.{} -> {}", advice.getRepository(), advice.getMethod(), advice.getDdl());
+        }
+        log.info("index advisor: {} method(s) without a usable index", advices.size());
+    }
+
+    public List<IndexAdvice> advise() {
+        Repositories repositories = new Repositories(beanFactory);
+        List<IndexAdvice> advices = new ArrayList<>();
+        for (Class<?> domainType : repositories) {
+            repositories.getRepositoryInformationFor(domainType).ifPresent(information -> {
+                List<List<String>> indexes = indexes(domainType);
+                for (Method method : information.getQueryMethods()) {
+                    advise(information, domainType, method, indexes, advices);
+                }
+            });
+        }
+        return advices;
+    }
+
+    private void advise(RepositoryInformation information, Class<?> domainType, Method method,
+                        List<List<String>> indexes, List<IndexAdvice> advices) {
+        if (AnnotatedElementUtils.hasAnnotation(method, Query.class)) {
+            return;
+        }
+
+        PartTree tree;
+        try {
+            tree = new PartTree(method.getName(), domainType);
+        } catch (RuntimeException e) { //NamedQuery 등 메서드 이름 쿼리가 아닌 경우
+            return;
+        }
+
+        //or 로 묶인 조건은 각각 인덱스가 필요
+        for (PartTree.OrPart orPart : tree) {
+            Set<String> equality = new LinkedHashSet<>();
+            Set<String> range = new LinkedHashSet<>();
+            for (Part part : orPart) {
+                PropertyPath path = part.getProperty();
+                if (path.hasNext()) {
+                    continue;
+                }
+                String column = column(domainType, path.getSegment());
+                (EQUALITY.contains(part.getType()) ? equality : range).add(column);
+            }
+            if (equality.isEmpty() && range.isEmpty()) {
+                continue;
+            }
+
+            Set<String> predicates = new LinkedHashSet<>(equality);
+            predicates.addAll(range);
+            boolean indexed = indexes.stream().anyMatch(index -> predicates.contains(index.get(0)));
+            if (indexed) {
+                continue;
+            }
+
+            //범위 조건 이후 컬럼은 인덱스 탐색에 쓰이지 않기 때문에 범위 컬럼은 하나만
+            List<String> columns = new ArrayList<>(equality);
+            range.stream().findFirst().ifPresent(columns::add);
+            for (String projected : projectedColumns(information, domainType, method)) {
+                if (!columns.contains(projected)) {
+                    columns.add(projected);
+                }
+            }
+            advices.add(new IndexAdvice(information.getRepositoryInterface().getSimpleName(),
+                    method.getName(), table(domainType), columns));
+        }
+    }
+
+    /**
+     * 인터페이스/DTO 프로젝션이면 조회 컬럼을 인덱스에 포함 (테이블 조회 없이 인덱스만으로 응답)
+     */
+    private List<String> projectedColumns(RepositoryInformation information, Class<?> domainType, Method method) {
+        Class<?> returned = information.getReturnedDomainClass(method);
+        if (returned.isAssignableFrom(domainType) || BeanUtils.isSimpleValueType(returned)) {
+            return List.of();
+        }
+        return Arrays.stream(BeanUtils.getPropertyDescriptors(returned))
+                .map(PropertyDescriptor::getName)
+                .filter(name -> ReflectionUtils.findField(domainType, name) != null)
+                .map(name -> column(domainType, name))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @Table indexes + PK
+     */
+    private List<List<String>> indexes(Class<?> domainType) {
+        List<List<String>> indexes = new ArrayList<>();
+        ReflectionUtils.doWithFields(domainType,
+                field -> indexes.add(List.of(column(field))),
+                field -> field.isAnnotationPresent(Id.class));
+
+        Table table = AnnotatedElementUtils.findMergedAnnotation(domainType, Table.class);
+        if (table != null) {
+            for (Index index : table.indexes()) {
+                indexes.add(Arrays.stream(index.columnList().split(","))
+                        .map(column -> column.trim().split("\\s+")[0]) //"age desc" -> age
+                        .collect(Collectors.toList()));
+            }
+        }
+        return indexes;
+    }
+
+    private String table(Class<?> domainType) {
+        Table table = AnnotatedElementUtils.findMergedAnnotation(domainType, Table.class);
+        if (table != null && StringUtils.hasText(table.name())) {
+            return table.name();
+        }
+        return snakeCase(domainType.getSimpleName());
+    }
+
+    private String column(Class<?> domainType, String property) {
+        Field field = ReflectionUtils.findField(domainType, property);
+        return field != null ? column(field) : snakeCase(property);
+    }
+
+    /**
+     * @Column / @JoinColumn 이름, 없으면 SpringPhysicalNamingStrategy 와 같은 snake_case
+     */
+    private String column(Field field) {
+        Column column = field.getAnnotation(Column.class);
+        if (column != null && StringUtils.hasText(column.name())) {
+            return column.name();
+        }
+        JoinColumn joinColumn = field.getAnnotation(JoinColumn.class);
+        if (joinColumn != null && StringUtils.hasText(joinColumn.name())) {
+            return joinColumn.name();
+        }
+        return snakeCase(field.getName());
+    }
+
+    private String snakeCase(String name) {
+        return name.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase();
+    }
+}
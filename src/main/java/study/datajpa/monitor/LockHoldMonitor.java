@@ -0,0 +1,82 @@
+package study.datajpa.monitor;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 비관적 락(findLock*) 보유 시간 측정
+ *
+ * 락은 트랜잭션이 끝날 때 풀리기 때문에 트랜잭션 안에서 호출되면 afterCompletion 까지 측정
+ * 트랜잭션 밖에서 호출되면 Repository 트랜잭션 = 메서드 실행 시간
+ *
+ * jpa.lock.hold - 락 보유 시간 (커넥션도 같은 시간 동안 점유)
+ * jpa.lock.hold.alerts - datajpa.lock.hold-alert-threshold 초과 횟수 (초과 시 warn 로그)
+ */
+@Slf4j
+@Aspect
+@Component
+public class LockHoldMonitor {
+
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final MeterRegistry meterRegistry;
+    private final Duration alertThreshold;
+
+    public LockHoldMonitor(MeterRegistry meterRegistry,
+                           @Value("${datajpa.lock.hold-alert-threshold:2s}") Duration alertThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.alertThreshold = alertThreshold;
+    }
+
+    @Around("execution(* study.datajpa.repository.MemberRepository+.findLock*(..))")
+    public Object track(ProceedingJoinPoint joinPoint) throws Throwable {
+        String method = joinPoint.getSignature().getName();
+        long start = System.nanoTime();
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            try {
+                return joinPoint.proceed();
+            } finally {
+                record(method, System.nanoTime() - start);
+            }
+        }
+
+        Object result = joinPoint.proceed();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                record(method, System.nanoTime() - start);
+            }
+        });
+        return result;
+    }
+
+    private void record(String method, long nanos) {
+        Timer.builder("jpa.lock.hold")
+                .tag("method", method)
+                .publishPercentiles(PERCENTILES)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+
+        if (nanos > alertThreshold.toNanos()) {
+            Counter.builder("jpa.lock.hold.alerts")
+                    .tag("method", method)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("lock held too long method={} held={}ms threshold={}ms",
+                    method, TimeUnit.NANOSECONDS.toMillis(nanos), alertThreshold.toMillis());
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package study.datajpa.monitor;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 요청/트랜잭션 단위로 실행된 SQL 집계
+ * SQL 은 바인딩 전(? 포함) 문자열 기준 - 같은 문자열이면 같은 모양의 쿼리
+ */
+public class QueryCount {
+
+    private int total;
+    private final Map<String, Integer> statements = new LinkedHashMap<>();
+
+    void record(String sql) {
+        total++;
+        statements.merge(sql, 1, Integer::sum);
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getSelectCount() {
+        return statements.entrySet().stream()
+                .filter(entry -> isSelect(entry.getKey()))
+                .mapToInt(Map.Entry::getValue)
+                .sum();
+    }
+
+    public Map<String, Integer> getStatements() {
+        return Collections.unmodifiableMap(statements);
+    }
+
+    /**
+     * 같은 모양의 select 가 threshold 번 이상 실행된 경우
+     * 지연 로딩 프록시 초기화로 인한 N+1 의심
+     */
+    public Map<String, Integer> getRepeatedSelects(int threshold) {
+        return statements.entrySet().stream()
+                .filter(entry -> isSelect(entry.getKey()) && entry.getValue() >= threshold)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+    }
+
+    private static boolean isSelect(String sql) {
+        return sql.stripLeading().regionMatches(true, 0, "select", 0, 6);
+    }
+
+    @Override
+    public String toString() {
+        return "QueryCount{total=" + total + ", statements=" + statements + "}";
+    }
+}
@@ -0,0 +1,35 @@
+package study.datajpa.monitor;
+
+/**
+ * 현재 스레드의 QueryCount 보관
+ * start ~ stop 사이에 실행된 SQL 만 집계 (시작하지 않았으면 집계하지 않음)
+ *
+ * 요청 단위: QueryCountInterceptor
+ * 테스트: QueryCountHolder.start() 후 assertMaxQueries(2)
+ */
+public abstract class QueryCountHolder {
+
+    private static final ThreadLocal<QueryCount> holder = new ThreadLocal<>();
+
+    public static void start() {
+        holder.set(new QueryCount());
+    }
+
+    public static QueryCount current() {
+        QueryCount queryCount = holder.get();
+        return queryCount != null ? queryCount : new QueryCount();
+    }
+
+    public static QueryCount stop() {
+        QueryCount queryCount = current();
+        holder.remove();
+        return queryCount;
+    }
+
+    static void record(String sql) {
+        QueryCount queryCount = holder.get();
+        if (queryCount != null) {
+            queryCount.record(sql);
+        }
+    }
+}
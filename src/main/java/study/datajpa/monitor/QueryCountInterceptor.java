@@ -0,0 +1,71 @@
+package study.datajpa.monitor;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Map;
+
+/**
+ * 요청 단위 쿼리 수 집계 + N+1 의심 쿼리 경고
+ *
+ * jpa.request.queries - 요청당 쿼리 수 분포
+ * jpa.request.repeated.selects - 같은 모양 select 가 반복된(N+1 의심) 요청 수
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QueryCountInterceptor implements AsyncHandlerInterceptor {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${datajpa.query-count.repeat-threshold:3}")
+    private int repeatThreshold;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        QueryCountHolder.start();
+        return true;
+    }
+
+    /**
+     * 비동기 응답(StreamingResponseBody 등)은 다른 스레드에서 쿼리가 실행되기 때문에 집계하지 않음
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        QueryCountHolder.stop();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        QueryCount queryCount = QueryCountHolder.stop();
+        String uri = uri(request);
+
+        DistributionSummary.builder("jpa.request.queries")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(queryCount.getTotal());
+
+        Map<String, Integer> repeated = queryCount.getRepeatedSelects(repeatThreshold);
+        if (!repeated.isEmpty()) {
+            Counter.builder("jpa.request.repeated.selects")
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("N+1 의심 uri={} totalQueries={} repeated={}", uri, queryCount.getTotal(), repeated);
+        }
+    }
+
+    private static String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
@@ -0,0 +1,22 @@
+package study.datajpa.monitor;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+
+/**
+ * p6spy 이벤트로 실행된 SQL 집계
+ * JdbcEventListener 빈은 p6spy-spring-boot-starter 가 자동 등록
+ *
+ * batch 는 executeBatch 한 번을 1회로 집계
+ */
+@Component
+public class QueryCountListener extends SimpleJdbcEventListener {
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        QueryCountHolder.record(statementInformation.getSql());
+    }
+}
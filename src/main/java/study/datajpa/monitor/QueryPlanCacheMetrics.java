@@ -0,0 +1,57 @@
+package study.datajpa.monitor;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Hibernate query plan cache (JPQL/Criteria 파싱 결과) 메트릭
+ * hit/miss 횟수는 Micrometer HibernateMetrics 의 hibernate.query.plan{result=hit|miss} 사용 (generate_statistics)
+ * 통계를 수집할 때만 등록 (datajpa.hibernate-statistics.enabled)
+ *
+ * hibernate.query.plan.cache.hit.ratio
+ * hibernate.query.plan.cache.max.size - Hibernate 5 는 현재 크기/제거 수를 제공하지 않기 때문에
+ *                                       miss 가 계속 늘면 max size 부족(제거 후 재파싱)으로 판단
+ */
+@Component
+@ConditionalOnProperty(prefix = "datajpa.hibernate-statistics", name = "enabled", havingValue = "true")
+public class QueryPlanCacheMetrics implements MeterBinder {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final int maxSize;
+
+    public QueryPlanCacheMetrics(EntityManagerFactory entityManagerFactory,
+                                 @Value("${spring.jpa.properties.hibernate.query.plan_cache_max_size:2048}") int maxSize) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("hibernate.query.plan.cache.hit.ratio", this, metrics -> hitRatio(metrics.statistics()))
+                .register(registry);
+        Gauge.builder("hibernate.query.plan.cache.max.size", () -> maxSize)
+                .register(registry);
+    }
+
+    /**
+     * EntityManagerFactory 를 백그라운드에서 생성(bootstrap-mode: deferred)하기 때문에
+     * 빈 생성 시점이 아니라 메트릭을 읽을 때 조회 - 생성이 끝날 때까지 시작을 막지 않음
+     */
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private static double hitRatio(Statistics statistics) {
+        long hit = statistics.getQueryPlanCacheHitCount();
+        long total = hit + statistics.getQueryPlanCacheMissCount();
+        return total == 0 ? 0 : (double) hit / total;
+    }
+}
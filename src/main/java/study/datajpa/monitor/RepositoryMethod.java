@@ -0,0 +1,73 @@
+package study.datajpa.monitor;
+
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SQL 을 실행한 Repository 메서드 (메트릭 tag)
+ */
+public final class RepositoryMethod {
+
+    public static final RepositoryMethod NONE = new RepositoryMethod("none", "none");
+
+    private static final String REPOSITORY_PACKAGE = "study.datajpa.repository";
+    private static final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    private final String repository;
+    private final String method;
+
+    private RepositoryMethod(String repository, String method) {
+        this.repository = repository;
+        this.method = method;
+    }
+
+    /**
+     * Spring Data Repository 는 JDK 프록시이기 때문에 구현한 인터페이스 이름(MemberRepository)을 사용
+     */
+    public static RepositoryMethod of(Class<?> targetClass, String method) {
+        return new RepositoryMethod(repositoryNames.computeIfAbsent(targetClass, RepositoryMethod::repositoryName), method);
+    }
+
+    private static String repositoryName(Class<?> targetClass) {
+        if (Proxy.isProxyClass(targetClass)) {
+            for (Class<?> type : ClassUtils.getAllInterfacesForClassAsSet(targetClass)) {
+                if (type.getPackageName().equals(REPOSITORY_PACKAGE)) {
+                    return type.getSimpleName();
+                }
+            }
+        }
+        return ClassUtils.getUserClass(targetClass).getSimpleName();
+    }
+
+    public String getRepository() {
+        return repository;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RepositoryMethod)) return false;
+        RepositoryMethod that = (RepositoryMethod) o;
+        return repository.equals(that.repository) && method.equals(that.method);
+    }
+
+    /**
+     * 메트릭 map key 로 매번 사용 - Objects.hash 의 varargs 배열 생성 없이 계산
+     */
+    @Override
+    public int hashCode() {
+        return 31 * repository.hashCode() + method.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return repository + "." + method;
+    }
+}
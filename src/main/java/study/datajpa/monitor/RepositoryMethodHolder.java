@@ -0,0 +1,30 @@
+package study.datajpa.monitor;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * 현재 스레드에서 실행 중인 Repository 메서드
+ * Repository 안에서 다른 Repository 를 호출하면 가장 안쪽 메서드 기준
+ */
+public abstract class RepositoryMethodHolder {
+
+    private static final ThreadLocal<Deque<RepositoryMethod>> holder = ThreadLocal.withInitial(ArrayDeque::new);
+
+    static void push(RepositoryMethod method) {
+        holder.get().push(method);
+    }
+
+    static void pop() {
+        Deque<RepositoryMethod> methods = holder.get();
+        methods.poll();
+        if (methods.isEmpty()) {
+            holder.remove();
+        }
+    }
+
+    public static RepositoryMethod current() {
+        RepositoryMethod method = holder.get().peek();
+        return method != null ? method : RepositoryMethod.NONE;
+    }
+}
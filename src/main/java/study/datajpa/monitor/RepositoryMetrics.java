@@ -0,0 +1,91 @@
+package study.datajpa.monitor;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repository 메서드별 메트릭
+ *
+ * repository.invocations - 메서드 실행 시간
+ * repository.jdbc.statements - 메서드가 실행한 SQL 별 실행 시간 (count = 쿼리 수)
+ * repository.jdbc.fetch - ResultSet 을 읽는 데 걸린 시간
+ * repository.jdbc.rows - ResultSet 당 읽은 row 수
+ *
+ * /actuator/metrics/repository.invocations?tag=repository:MemberRepository&tag=method:findByUsername
+ *
+ * 모든 Repository 호출 / SQL 마다 실행되기 때문에 meter 는 RepositoryMethod 기준으로 보관
+ * 이미 등록된 meter 는 get 으로만 찾음 (key 문자열, 캡처 람다 생성 없음)
+ */
+@Component
+@RequiredArgsConstructor
+public class RepositoryMetrics {
+
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * method -> exception -> timer
+     */
+    private final Map<RepositoryMethod, Map<String, Timer>> invocations = new ConcurrentHashMap<>();
+    private final Map<RepositoryMethod, Timer> statements = new ConcurrentHashMap<>();
+    private final Map<RepositoryMethod, Timer> fetches = new ConcurrentHashMap<>();
+    private final Map<RepositoryMethod, DistributionSummary> rows = new ConcurrentHashMap<>();
+
+    public void recordInvocation(RepositoryMethod method, String exception, long nanos) {
+        Map<String, Timer> byException = invocations.get(method);
+        if (byException == null) {
+            byException = invocations.computeIfAbsent(method, key -> new ConcurrentHashMap<>());
+        }
+        Timer timer = byException.get(exception);
+        if (timer == null) {
+            timer = byException.computeIfAbsent(exception, key ->
+                    Timer.builder("repository.invocations")
+                            .tag("repository", method.getRepository())
+                            .tag("method", method.getMethod())
+                            .tag("exception", key)
+                            .publishPercentiles(PERCENTILES)
+                            .publishPercentileHistogram()
+                            .register(meterRegistry));
+        }
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordStatement(RepositoryMethod method, long nanos) {
+        timer(statements, "repository.jdbc.statements", method).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordResultSet(RepositoryMethod method, int rowCount, long fetchNanos) {
+        timer(fetches, "repository.jdbc.fetch", method).record(fetchNanos, TimeUnit.NANOSECONDS);
+        DistributionSummary summary = rows.get(method);
+        if (summary == null) {
+            summary = rows.computeIfAbsent(method, key ->
+                    DistributionSummary.builder("repository.jdbc.rows")
+                            .tag("repository", key.getRepository())
+                            .tag("method", key.getMethod())
+                            .publishPercentiles(PERCENTILES)
+                            .register(meterRegistry));
+        }
+        summary.record(rowCount);
+    }
+
+    private Timer timer(Map<RepositoryMethod, Timer> timers, String name, RepositoryMethod method) {
+        Timer timer = timers.get(method);
+        if (timer != null) {
+            return timer;
+        }
+        return timers.computeIfAbsent(method, key ->
+                Timer.builder(name)
+                        .tag("repository", key.getRepository())
+                        .tag("method", key.getMethod())
+                        .publishPercentiles(PERCENTILES)
+                        .register(meterRegistry));
+    }
+}
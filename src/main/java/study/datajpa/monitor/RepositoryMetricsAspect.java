@@ -0,0 +1,37 @@
+package study.datajpa.monitor;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Repository 메서드 실행 시간 측정 + 실행 중인 메서드를 RepositoryMethodHolder 에 보관
+ * RepositoryMetricsListener 가 SQL 을 이 메서드 기준으로 집계
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RepositoryMetricsAspect {
+
+    private final RepositoryMetrics repositoryMetrics;
+
+    @Around("execution(public * study.datajpa.repository..*Repository+.*(..))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        RepositoryMethod method = RepositoryMethod.of(joinPoint.getTarget().getClass(), joinPoint.getSignature().getName());
+        RepositoryMethodHolder.push(method);
+
+        long start = System.nanoTime();
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            RepositoryMethodHolder.pop();
+            repositoryMetrics.recordInvocation(method, exception, System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package study.datajpa.monitor;
+
+import com.p6spy.engine.common.ResultSetInformation;
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * p6spy 이벤트를 현재 Repository 메서드 기준으로 집계
+ * Repository 밖(트랜잭션 커밋 시 flush 등)에서 실행된 SQL 은 method=none
+ */
+@Component
+@RequiredArgsConstructor
+public class RepositoryMetricsListener extends SimpleJdbcEventListener {
+
+    /**
+     * 열려 있는 ResultSet 별 누적 fetch 시간 (ResultSet 은 만든 스레드에서 읽는다고 가정)
+     */
+    private static final ThreadLocal<Map<ResultSetInformation, long[]>> fetchNanos =
+            ThreadLocal.withInitial(IdentityHashMap::new);
+
+    private final RepositoryMetrics repositoryMetrics;
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        repositoryMetrics.recordStatement(RepositoryMethodHolder.current(), timeElapsedNanos);
+    }
+
+    @Override
+    public void onAfterResultSetNext(ResultSetInformation resultSetInformation, long timeElapsedNanos, boolean hasNext, SQLException e) {
+        fetchNanos.get().computeIfAbsent(resultSetInformation, key -> new long[1])[0] += timeElapsedNanos;
+    }
+
+    @Override
+    public void onAfterResultSetClose(ResultSetInformation resultSetInformation, SQLException e) {
+        Map<ResultSetInformation, long[]> open = fetchNanos.get();
+        long[] nanos = open.remove(resultSetInformation);
+        if (open.isEmpty()) {
+            fetchNanos.remove();
+        }
+
+        //currRow 는 -1 부터 시작
+        int rows = resultSetInformation.getCurrRow() + 1;
+        repositoryMetrics.recordResultSet(RepositoryMethodHolder.current(), rows, nanos != null ? nanos[0] : 0L);
+    }
+}
@@ -0,0 +1,60 @@
+package study.datajpa.monitor;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * 시작 완료 시 오래 걸린 시작 단계(빈 생성 등) 상위 N 개 로그
+ * 전체 timeline 은 /actuator/startup
+ *
+ * DataJpaApplication.main 에서 BufferingApplicationStartup 을 설정한 경우에만 동작 (테스트 등에서는 생략)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StartupTimelineReporter {
+
+    private final ObjectProvider<BufferingApplicationStartup> applicationStartup;
+
+    @Value("${datajpa.startup.report-top:20}")
+    private int reportTop;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report() {
+        BufferingApplicationStartup startup = applicationStartup.getIfAvailable();
+        if (startup == null || reportTop <= 0) {
+            return;
+        }
+
+        StartupTimeline timeline = startup.getBufferedTimeline();
+        String slowest = timeline.getEvents().stream()
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(reportTop)
+                .map(event -> String.format("%6dms %s %s",
+                        event.getDuration().toMillis(), event.getStartupStep().getName(), tags(event.getStartupStep())))
+                .collect(Collectors.joining("\n"));
+
+        Duration total = Duration.between(timeline.getStartTime(), Instant.now());
+        log.info("startup {}ms, slowest steps\n{}", total.toMillis(), slowest);
+    }
+
+    private static String tags(StartupStep step) {
+        return StreamSupport.stream(step.getTags().spliterator(), false)
+                .map(tag -> tag.getKey() + "=" + tag.getValue())
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+}
@@ -0,0 +1,16 @@
+package study.datajpa.repository;
+
+/**
+ * 새 엔티티 전용 대량 저장 (Repository 조각)
+ * save / saveAll 과 달리 isNew 판단이나 merge 없이 바로 persist - 존재 여부 확인 SELECT 없음
+ * 이미 있는 id 를 넣으면 flush 시점에 키 중복 예외 발생
+ */
+public interface BatchInsertRepository<T> {
+
+    /**
+     * hibernate.jdbc.batch_size 마다 flush + clear
+     *
+     * @return 저장한 엔티티 수
+     */
+    int insertAll(Iterable<T> entities);
+}
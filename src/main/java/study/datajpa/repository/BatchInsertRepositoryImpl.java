@@ -0,0 +1,44 @@
+package study.datajpa.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
+
+import javax.persistence.EntityManager;
+
+public class BatchInsertRepositoryImpl<T> implements BatchInsertRepository<T> {
+
+    private final EntityManager em;
+    private final int batchSize;
+
+    public BatchInsertRepositoryImpl(EntityManager em,
+                                     @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}") int batchSize) {
+        this.em = em;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    @Transactional
+    public int insertAll(Iterable<T> entities) {
+        return persistInBatches(em, entities, batchSize);
+    }
+
+    /**
+     * batchSize 마다 flush + clear - insertAll, MemberRepository.saveAllBatched 공용
+     */
+    static int persistInBatches(EntityManager em, Iterable<?> entities, int batchSize) {
+        Assert.isTrue(batchSize > 0, "batchSize 는 1 이상");
+
+        int count = 0;
+        for (Object entity : entities) {
+            em.persist(entity);
+            if (++count % batchSize == 0) {
+                em.flush();
+                em.clear();
+            }
+        }
+        em.flush();
+        em.clear();
+        return count;
+    }
+}
@@ -0,0 +1,37 @@
+package study.datajpa.repository;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 구간 단위 bulk update 진행 상황
+ * 실패 시 마지막으로 받은 progress 를 bulkAgePlusChunked(resumeFrom) 로 넘기면 nextId 부터 이어서 처리
+ */
+@Getter
+@ToString
+public class BulkUpdateProgress {
+
+    /**
+     * 다음에 처리할 구간의 시작 id (이전 구간까지는 커밋 완료)
+     */
+    private final Long nextId;
+
+    /**
+     * 시작 시점의 최대 id - 이후에 추가된 회원은 대상이 아님
+     */
+    private final Long maxId;
+
+    private final int chunkCount;
+    private final int updatedCount;
+
+    public BulkUpdateProgress(Long nextId, Long maxId, int chunkCount, int updatedCount) {
+        this.nextId = nextId;
+        this.maxId = maxId;
+        this.chunkCount = chunkCount;
+        this.updatedCount = updatedCount;
+    }
+
+    public boolean isCompleted() {
+        return maxId == null || nextId > maxId;
+    }
+}
@@ -0,0 +1,30 @@
+package study.datajpa.repository;
+
+/**
+ * Page 조회 시 total count 를 구하는 방법
+ */
+public enum CountStrategy {
+
+    /**
+     * 매 요청마다 count 쿼리 실행 (Spring Data 기본 동작)
+     */
+    EXACT,
+
+    /**
+     * 짧은 TTL 동안 count 결과를 재사용
+     * Member 저장/삭제, bulk update 시 무효화
+     */
+    CACHED,
+
+    /**
+     * DB 통계의 추정 row 수 사용 (조건 없는 전체 조회에만 적용, 그 외에는 CACHED)
+     * 추정 쿼리는 datajpa.count-cache.estimate-query - 없거나 실패하면 CACHED (MemberCountEstimator)
+     */
+    ESTIMATED,
+
+    /**
+     * count 쿼리 생략 - size + 1 조회로 다음 페이지 존재 여부만 판단
+     * 앞으로만 넘기는 화면용, totalElements 는 정확하지 않음
+     */
+    NONE
+}
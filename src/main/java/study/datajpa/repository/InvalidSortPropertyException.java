@@ -0,0 +1,11 @@
+package study.datajpa.repository;
+
+/**
+ * 정렬 허용 목록에 없는 속성으로 정렬 요청 - 클라이언트 입력 오류 (컨트롤러에서 400)
+ */
+public class InvalidSortPropertyException extends IllegalArgumentException {
+
+    public InvalidSortPropertyException(String property) {
+        super("정렬할 수 없는 속성: " + property);
+    }
+}
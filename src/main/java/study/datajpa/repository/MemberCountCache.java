@@ -0,0 +1,63 @@
+package study.datajpa.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Page count 쿼리 결과 캐시
+ * key 는 쿼리 + 파라미터 (ex. Member.findPageByAge:10)
+ *
+ * 목록 화면은 count 가 조금 늦게 반영되어도 괜찮기 때문에 짧은 TTL 로 재사용
+ * Member 변경 시에는 MemberModificationAspect 가 invalidateAll 호출
+ */
+@Component
+public class MemberCountCache {
+
+    private final long ttlNanos;
+    private final Map<String, CachedCount> counts = new ConcurrentHashMap<>();
+
+    /**
+     * count 쿼리 실행 중 무효화가 일어나면 오래된 값을 저장하지 않기 위한 세대 번호
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    public MemberCountCache(@Value("${datajpa.count-cache.ttl:5s}") Duration ttl) {
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public long get(String key, LongSupplier countQuery) {
+        long now = System.nanoTime();
+        CachedCount cached = counts.get(key);
+        if (cached != null && cached.expiresAt - now > 0) {
+            return cached.count;
+        }
+
+        long currentGeneration = generation.get();
+        long count = countQuery.getAsLong();
+        if (generation.get() == currentGeneration) {
+            counts.put(key, new CachedCount(count, now + ttlNanos));
+        }
+        return count;
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        counts.clear();
+    }
+
+    private static class CachedCount {
+        private final long count;
+        private final long expiresAt;
+
+        private CachedCount(long count, long expiresAt) {
+            this.count = count;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
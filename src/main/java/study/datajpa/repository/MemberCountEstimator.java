@@ -0,0 +1,54 @@
+package study.datajpa.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.OptionalLong;
+
+/**
+ * CountStrategy.ESTIMATED 용 member 테이블 추정 row 수
+ *
+ * DB 마다 쿼리가 달라서 datajpa.count-cache.estimate-query 로 설정
+ * ex) H2: select row_count_estimate from information_schema.tables where table_name = 'MEMBER'
+ *     PostgreSQL: select reltuples::bigint from pg_class where relname = 'member'
+ *     MySQL: select table_rows from information_schema.tables where table_name = 'member'
+ * 설정이 없거나 실패하면 empty - 호출한 쪽은 CACHED 로 처리
+ *
+ * JPA 쿼리 예외는 트랜잭션을 rollback-only 로 만들기 때문에 JdbcTemplate 으로 실행
+ */
+@Slf4j
+@Component
+public class MemberCountEstimator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String estimateQuery;
+
+    /**
+     * 한 번 실패하면 재시작 전까지 사용하지 않음 (DB 에 맞지 않는 쿼리를 매번 실행하지 않도록)
+     */
+    private volatile boolean enabled;
+
+    public MemberCountEstimator(JdbcTemplate jdbcTemplate,
+                                @Value("${datajpa.count-cache.estimate-query:}") String estimateQuery) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.estimateQuery = estimateQuery;
+        this.enabled = estimateQuery != null && !estimateQuery.isBlank();
+    }
+
+    public OptionalLong estimate() {
+        if (!enabled) {
+            return OptionalLong.empty();
+        }
+        try {
+            Long estimate = jdbcTemplate.queryForObject(estimateQuery, Long.class);
+            return estimate != null ? OptionalLong.of(estimate) : OptionalLong.empty();
+        } catch (DataAccessException e) {
+            enabled = false;
+            log.warn("count 추정 쿼리 실패 - ESTIMATED 는 CACHED 로 처리 ({})", estimateQuery, e);
+            return OptionalLong.empty();
+        }
+    }
+}
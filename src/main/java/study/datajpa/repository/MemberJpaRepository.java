@@ -7,6 +7,10 @@ import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 @Repository
 public class MemberJpaRepository {
@@ -28,6 +32,24 @@ public class MemberJpaRepository {
                 .getResultList();
     }
 
+    /**
+     * findAll 의 Stream 버전
+     * 조회한 엔티티는 바로 준영속 상태로 만들어서 영속성 컨텍스트에 쌓이지 않게 함
+     * 준영속 상태이므로 team 같은 지연 로딩 연관관계는 사용 불가
+     *
+     * 트랜잭션 안에서 사용하고, 반드시 close 해야 함
+     */
+    public Stream<Member> streamAll(int fetchSize) {
+        return em.createQuery("select m from Member m", Member.class)
+                .setHint(HINT_FETCH_SIZE, fetchSize)
+                .setHint(HINT_READONLY, true)
+                .getResultStream()
+                .map(member -> {
+                    em.detach(member);
+                    return member;
+                });
+    }
+
     public Optional<Member> findById(Long id) {
         Member member = em.find(Member.class, id);
         return Optional.ofNullable(member);
@@ -43,7 +65,7 @@ public class MemberJpaRepository {
     }
 
     public List<Member> findByUsernameAndAgeGreaterThanEqual(String username, int age) {
-        return em.createQuery("select m from Member m where m.username = :username and m.age >= :age")
+        return em.createNamedQuery("Member.findByUsernameAndMinAge", Member.class)
                 .setParameter("username", username)
                 .setParameter("age", age)
                 .getResultList();
@@ -56,15 +78,39 @@ public class MemberJpaRepository {
     }
 
     public List<Member> findByPage(int age, int offset, int limit) {
-        return em.createQuery("select m from Member m where m.age >= :age order by m.username desc ")
+        return em.createNamedQuery("Member.findByPage", Member.class)
                 .setParameter("age", age)
                 .setFirstResult(offset)
                 .setMaxResults(limit)
                 .getResultList();
     }
 
+    /**
+     * findByPage 의 Keyset 버전 - (username desc, id desc) 기준
+     * 이전 페이지 마지막 회원의 username, id 를 넘기면 offset 없이 다음 페이지 조회
+     * username 이 중복될 수 있기 때문에 id 를 함께 비교
+     */
+    public List<Member> findByKeyset(int age, String lastUsername, Long lastId, int limit) {
+        if (lastUsername == null || lastId == null) {
+            return em.createQuery("select m from Member m where m.age >= :age" +
+                            " order by m.username desc, m.id desc", Member.class)
+                    .setParameter("age", age)
+                    .setMaxResults(limit)
+                    .getResultList();
+        }
+
+        return em.createQuery("select m from Member m where m.age >= :age" +
+                        " and (m.username < :username or (m.username = :username and m.id < :id))" +
+                        " order by m.username desc, m.id desc", Member.class)
+                .setParameter("age", age)
+                .setParameter("username", lastUsername)
+                .setParameter("id", lastId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
     public long totalCount(int age) {
-        return em.createQuery("select count(m) from Member m where m.age >= :age", Long.class)
+        return em.createNamedQuery("Member.totalCount", Long.class)
                 .setParameter("age", age)
                 .getSingleResult();
     }
@@ -72,7 +118,7 @@ public class MemberJpaRepository {
     public int bulkAgePlus(int age) {
         return em.createQuery(
                     "update Member m " +
-                            "set m.age = m.age + 1 " +
+                            "set m.age = m.age + 1, m.version = m.version + 1 " +
                             "where m.age >= :age")
                 .setParameter("age", age)
                 .executeUpdate();
@@ -0,0 +1,53 @@
+package study.datajpa.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.annotation.After;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.stereotype.Component;
+
+/**
+ * Member 저장/삭제, bulk update 후 count 캐시 무효화
+ * bulk update / batch delete 는 MemberVersionRegistry(ETag) 도 무효화 - 엔티티 단위 변경은 MemberVersionEventListener 가 갱신
+ *
+ * bulk update 는 영속성 컨텍스트/엔티티 이벤트를 거치지 않기 때문에
+ * 엔티티 리스너가 아니라 Repository 메서드 호출 기준으로 감지
+ * 예외로 끝나도 무효화 - bulkAgePlusChunked 는 실패 전 구간이 이미 커밋되어 있음
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class MemberModificationAspect {
+
+    private final MemberCountCache countCache;
+    private final MemberVersionRegistry versionRegistry;
+
+    @Pointcut("execution(* study.datajpa.repository.MemberRepository+.save*(..))" +
+            " || execution(* study.datajpa.repository.MemberRepository+.create*(..))" +
+            " || execution(* study.datajpa.repository.MemberRepository+.delete*(..))" +
+            " || execution(* study.datajpa.repository.MemberRepository+.bulkAgePlus*(..))")
+    public void memberRepositoryWrite() {}
+
+    @Pointcut("execution(* study.datajpa.repository.MemberJpaRepository.save(..))" +
+            " || execution(* study.datajpa.repository.MemberJpaRepository.delete(..))" +
+            " || execution(* study.datajpa.repository.MemberJpaRepository.bulkAgePlus(..))")
+    public void memberJpaRepositoryWrite() {}
+
+    /**
+     * 엔티티 이벤트 없이 JPQL 로 바로 실행되는 쓰기 (deleteAllInBatch, deleteAllByIdInBatch, deleteInBatch 포함)
+     */
+    @Pointcut("execution(* study.datajpa.repository.MemberRepository+.bulkAgePlus*(..))" +
+            " || execution(* study.datajpa.repository.MemberRepository+.delete*InBatch(..))" +
+            " || execution(* study.datajpa.repository.MemberJpaRepository.bulkAgePlus(..))")
+    public void memberBulkWrite() {}
+
+    @After("memberRepositoryWrite() || memberJpaRepositoryWrite()")
+    public void afterWrite() {
+        countCache.invalidateAll();
+    }
+
+    @After("memberBulkWrite()")
+    public void afterBulkWrite() {
+        versionRegistry.invalidateAll();
+    }
+}
@@ -5,6 +5,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
+import org.springframework.scheduling.annotation.Async;
+import study.datajpa.config.AsyncConfig;
 import study.datajpa.dto.MemberDto;
 import study.datajpa.entity.Member;
 
@@ -12,6 +14,7 @@ import javax.persistence.LockModeType;
 import javax.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * JpaSpecificationExecutor 사용 X
@@ -22,6 +25,14 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
     List<Member> findTop3HelloBy();
 
 //    @Query(name = "Member.findByUsername") 관례상 Named Query - Domain.Method 명을 찾고, 찾지 못하면 Method 이름으로 Query 생성
+    /**
+     * 가장 많이 호출되는 조회 - 쿼리 캐시 사용
+     * Member 변경(bulk update 포함) 시 Hibernate 가 update timestamps 로 자동 무효화
+     */
+    @QueryHints(value = {
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "member.byUsername")
+    })
     List<Member> findByUsername(@Param("username") String username);
 
     /**
@@ -37,6 +48,20 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
     @Query("select new study.datajpa.dto.MemberDto(m.id, m.username, t.name) from Member m join m.team t")
     List<MemberDto> findMemberDto();
 
+    /**
+     * 비동기 조회 - repositoryExecutor 스레드에서 실행 (AsyncConfig)
+     * 다른 스레드라 OSIV 영속성 컨텍스트가 없기 때문에 DTO 로 조회
+     */
+    @Async(AsyncConfig.REPOSITORY_EXECUTOR)
+    @Query("select new study.datajpa.dto.MemberDto(m.id, m.username, t.name) from Member m left join m.team t where m.age = :age")
+    CompletableFuture<List<MemberDto>> findMemberDtoAsyncByAge(@Param("age") int age);
+
+    /**
+     * findMemberDtoAsyncByAge 와 같은 쿼리를 호출한 스레드에서 실행 (비교용)
+     */
+    @Query("select new study.datajpa.dto.MemberDto(m.id, m.username, t.name) from Member m left join m.team t where m.age = :age")
+    List<MemberDto> findMemberDtoByAge(@Param("age") int age);
+
     @Query("select m from Member m where m.username in :names")
     List<Member> finByNames(@Param("names") List<String> names);
 
@@ -53,7 +78,7 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
     Slice<Member> findSliceByAge(int age, Pageable pageable);
 
     @Modifying(clearAutomatically = true)
-    @Query("update Member m set m.age = m.age +1 where m.age >= :age")
+    @Query("update Member m set m.age = m.age +1, m.version = m.version + 1 where m.age >= :age") // 영속성 컨텍스트를 거치지 않기 때문에 버전 직접 증가
     int bulkAgePlus(@Param("age") int age);
 
     @Query("select m from Member m left join fetch m.team")
@@ -1,10 +1,111 @@
 package study.datajpa.repository;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import study.datajpa.dto.MemberDto;
+import study.datajpa.dto.MemberSearchCondition;
 import study.datajpa.entity.Member;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public interface MemberRepositoryCustom {
 
     List<Member> findMemberCustom();
+
+    /**
+     * id 목록으로 한 번에 조회
+     * 중복 제거 후 512 개씩 나누어 in 절로 조회 (DB 의 in 절 개수 제한 회피)
+     * in 절 파라미터는 hibernate.query.in_clause_parameter_padding 으로 2의 거듭제곱 개로 맞춰짐
+     * 결과 순서는 보장하지 않음
+     */
+    List<Member> loadAllByIds(Collection<Long> ids);
+
+    /**
+     * username 목록으로 한 번에 조회 - loadAllByIds 와 동일
+     */
+    List<Member> loadAllByUsernames(Collection<String> usernames);
+
+    /**
+     * Keyset(Seek) 페이징
+     * offset 대신 마지막으로 조회한 id 이후부터 조회
+     * 몇 번째 페이지든 첫 페이지와 같은 비용 (lastId 가 null 이면 첫 페이지)
+     */
+    Slice<Member> findKeysetPage(Long lastId, int size);
+
+    /**
+     * findKeysetPage 의 DTO 버전 (teamName 포함, /members 와 같은 모양)
+     */
+    Slice<MemberDto> findMemberDtoKeysetPage(Long lastId, int size);
+
+    /**
+     * count 쿼리 전략을 선택할 수 있는 findAll(Pageable)
+     */
+    Page<Member> findAll(Pageable pageable, CountStrategy countStrategy);
+
+    /**
+     * count 쿼리 전략을 선택할 수 있는 findPageByAge
+     */
+    Page<Member> findPageByAge(int age, Pageable pageable, CountStrategy countStrategy);
+
+    /**
+     * 목록 화면용 DTO 페이징
+     * 엔티티 대신 id, username, team.name 만 바로 MemberDto 로 조회 - 영속성 컨텍스트/스냅샷 관리 비용 없음
+     * 정렬 가능 속성: id, username, age, teamName
+     */
+    Page<MemberDto> findMemberDtoPage(Pageable pageable, CountStrategy countStrategy);
+
+    /**
+     * 동적 검색 - 조건 조합 + 정렬별로 만든 JPQL 을 재사용 (MemberSearchTemplate)
+     * 정렬 가능 속성은 findMemberDtoPage 와 동일
+     */
+    Page<MemberDto> search(MemberSearchCondition condition, Pageable pageable);
+
+    /**
+     * teamId 로 연관관계 설정 - Team 을 조회하지 않고 프록시(getReference) 로 FK 만 저장
+     * 없는 teamId 는 flush 시 FK 제약 조건 위반
+     */
+    Member createMember(String username, int age, Long teamId);
+
+    /**
+     * teamIds 의 팀마다 회원 생성 (username = usernamePrefix + 순번), SELECT 없이 insert 만 (JDBC batch)
+     */
+    List<Member> createMembers(String usernamePrefix, int age, List<Long> teamIds);
+
+    /**
+     * 대량 저장
+     * batchSize 마다 flush + clear 하여 JDBC batch insert 로 전송하고 영속성 컨텍스트를 비움
+     * clear 하기 때문에 호출한 트랜잭션의 다른 엔티티도 준영속 상태가 됨
+     *
+     * @return 저장한 회원 수
+     */
+    int saveAllBatched(Iterable<Member> members, int batchSize);
+
+    /**
+     * 대량 조회(export) 용 Stream
+     * 결과를 List 로 모으지 않고 fetchSize 단위로 DB 에서 가져오면서 DTO 로 바로 변환
+     * 엔티티가 아니기 때문에 영속성 컨텍스트에 쌓이지 않음
+     *
+     * 트랜잭션 안에서 사용하고, 반드시 close 해야 함 (try-with-resources)
+     */
+    Stream<MemberDto> streamMemberDto(int fetchSize);
+
+    /**
+     * bulkAgePlus 를 id 구간(chunkSize) 단위로 나누어 실행하고 구간마다 커밋
+     * 한 트랜잭션으로 전체 테이블 row lock 을 오래 잡지 않음
+     *
+     * 구간마다 별도 트랜잭션(REQUIRES_NEW)이기 때문에 트랜잭션 밖에서만 호출 가능 (IllegalStateException)
+     * - 호출한 트랜잭션이 회원 row lock(findLock*, 수정 후 flush)을 잡고 있으면 구간 update 가 그 락을 기다리고,
+     *   호출한 트랜잭션은 구간이 끝나기를 기다려서 교착 상태
+     * 호출한 쪽 영속성 컨텍스트가 없으므로 clear 불필요 - 구간 영속성 컨텍스트는 구간 커밋과 함께 종료
+     *
+     * @param resumeFrom 재시작할 때 이전 실행의 마지막 progress (처음이면 null)
+     *                   처음 실행 시점의 maxId 를 유지 - 중간에 추가된 회원은 대상이 아님
+     * @param progressListener 구간 커밋마다 호출 (필수, 필요 없으면 progress -> {})
+     */
+    BulkUpdateProgress bulkAgePlusChunked(int age, int chunkSize, BulkUpdateProgress resumeFrom,
+                                          Consumer<BulkUpdateProgress> progressListener);
 }
@@ -1,11 +1,43 @@
 package study.datajpa.repository;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+import study.datajpa.dto.MemberDto;
+import study.datajpa.dto.MemberSearchCondition;
 import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
 
 import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 /**
  * MemberRepository + Impl 
@@ -14,11 +46,303 @@ import java.util.List;
 @RequiredArgsConstructor
     public class MemberRepositoryImpl implements MemberRepositoryCustom {
 
+    /**
+     * in 절 하나에 넣는 최대 개수
+     * 2의 거듭제곱이라 padding 이 추가되지 않고, Oracle 의 1000 개 제한보다 작음
+     */
+    private static final int IN_CLAUSE_CHUNK_SIZE = 512;
+
+    /**
+     * DTO 조회 정렬 속성 -> JPQL 경로
+     */
+    private static final Map<String, String> MEMBER_DTO_SORT_PATHS = Map.of(
+            "id", "m.id",
+            "username", "m.username",
+            "age", "m.age",
+            "teamName", "t.name"
+    );
+
+    /**
+     * 검색 JPQL 캐시 최대 개수 - 넘으면 캐시하지 않고 매번 생성
+     */
+    private static final int MAX_SEARCH_TEMPLATES = 1024;
+
     private final EntityManager em;
+    private final MemberCountCache countCache;
+    private final MemberCountEstimator countEstimator;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * 조건 조합 + 정렬 -> 검색 JPQL
+     * 정렬은 허용 속성 중복 제거 후 최대 4개라 조합이 한정적이지만, 순서/방향 조합까지 고려해 MAX_SEARCH_TEMPLATES 로 제한
+     */
+    private final Map<String, MemberSearchTemplate> searchTemplates = new ConcurrentHashMap<>();
 
     @Override
     public List<Member> findMemberCustom() {
         return em.createQuery("select m from Member m")
                 .getResultList();
     }
+
+    @Override
+    public List<Member> loadAllByIds(Collection<Long> ids) {
+        return loadInChunks(ids, chunk ->
+                em.createQuery("select m from Member m where m.id in :ids", Member.class)
+                        .setParameter("ids", chunk)
+                        .getResultList());
+    }
+
+    @Override
+    public List<Member> loadAllByUsernames(Collection<String> usernames) {
+        return loadInChunks(usernames, chunk ->
+                em.createQuery("select m from Member m where m.username in :usernames", Member.class)
+                        .setParameter("usernames", chunk)
+                        .getResultList());
+    }
+
+    /**
+     * 같은 영속성 컨텍스트에 담아야 하기 때문에 구간은 병렬이 아닌 순서대로 조회
+     */
+    private <K> List<Member> loadInChunks(Collection<K> keys, Function<List<K>, List<Member>> loader) {
+        List<K> distinctKeys = new ArrayList<>(new LinkedHashSet<>(keys));
+        List<Member> result = new ArrayList<>(distinctKeys.size());
+        for (int from = 0; from < distinctKeys.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            int to = Math.min(from + IN_CLAUSE_CHUNK_SIZE, distinctKeys.size());
+            result.addAll(loader.apply(distinctKeys.subList(from, to)));
+        }
+        return result;
+    }
+
+    @Override
+    public Slice<Member> findKeysetPage(Long lastId, int size) {
+        TypedQuery<Member> query;
+        if (lastId == null) {
+            query = em.createQuery("select m from Member m order by m.id asc", Member.class);
+        } else {
+            query = em.createQuery("select m from Member m where m.id > :lastId order by m.id asc", Member.class)
+                    .setParameter("lastId", lastId);
+        }
+
+        return toKeysetSlice(query, size);
+    }
+
+    @Override
+    public Slice<MemberDto> findMemberDtoKeysetPage(Long lastId, int size) {
+        String select = "select new study.datajpa.dto.MemberDto(m.id, m.username, t.name)" +
+                " from Member m left join m.team t";
+        TypedQuery<MemberDto> query;
+        if (lastId == null) {
+            query = em.createQuery(select + " order by m.id asc", MemberDto.class);
+        } else {
+            query = em.createQuery(select + " where m.id > :lastId order by m.id asc", MemberDto.class)
+                    .setParameter("lastId", lastId);
+        }
+        return toKeysetSlice(query, size);
+    }
+
+    /**
+     * 다음 페이지 존재 여부 확인을 위해 size + 1 조회 (Slice 와 동일)
+     */
+    private static <T> Slice<T> toKeysetSlice(TypedQuery<T> query, int size) {
+        List<T> content = query
+                .setMaxResults(size + 1)
+                .getResultList();
+
+        boolean hasNext = content.size() > size;
+        if (hasNext) {
+            content = content.subList(0, size);
+        }
+        return new SliceImpl<>(content, Pageable.ofSize(size), hasNext);
+    }
+
+    @Override
+    public Page<Member> findAll(Pageable pageable, CountStrategy countStrategy) {
+        String jpql = QueryUtils.applySorting("select m from Member m", pageable.getSort(), "m");
+        TypedQuery<Member> query = em.createQuery(jpql, Member.class);
+
+        LongSupplier countQuery = () -> em.createQuery("select count(m) from Member m", Long.class)
+                .getSingleResult();
+
+        return toPage(query, pageable, countStrategy, "Member.findAll", countQuery);
+    }
+
+    @Override
+    public Page<Member> findPageByAge(int age, Pageable pageable, CountStrategy countStrategy) {
+        String jpql = QueryUtils.applySorting(
+                "select m from Member m left join m.team t where m.age = :age", pageable.getSort(), "m");
+        TypedQuery<Member> query = em.createQuery(jpql, Member.class)
+                .setParameter("age", age);
+
+        //조건이 있는 쿼리는 테이블 추정치를 쓸 수 없음 - ESTIMATED 는 CACHED 로 처리
+        CountStrategy strategy = countStrategy == CountStrategy.ESTIMATED ? CountStrategy.CACHED : countStrategy;
+        LongSupplier countQuery = () -> em.createQuery("select count(m) from Member m where m.age = :age", Long.class)
+                .setParameter("age", age)
+                .getSingleResult();
+
+        return toPage(query, pageable, strategy, "Member.findPageByAge:" + age, countQuery);
+    }
+
+    @Override
+    public Page<MemberDto> findMemberDtoPage(Pageable pageable, CountStrategy countStrategy) {
+        String jpql = "select new study.datajpa.dto.MemberDto(m.id, m.username, t.name)" +
+                " from Member m left join m.team t" +
+                orderBy(pageable.getSort(), MEMBER_DTO_SORT_PATHS);
+        TypedQuery<MemberDto> query = em.createQuery(jpql, MemberDto.class);
+
+        LongSupplier countQuery = () -> em.createQuery("select count(m) from Member m", Long.class)
+                .getSingleResult();
+
+        //count 는 findAll 과 같기 때문에 같은 캐시 key 사용
+        return toPage(query, pageable, countStrategy, "Member.findAll", countQuery);
+    }
+
+    @Override
+    public Page<MemberDto> search(MemberSearchCondition condition, Pageable pageable) {
+        String orderBy = orderBy(pageable.getSort(), MEMBER_DTO_SORT_PATHS);
+        String key = MemberSearchTemplate.key(condition, orderBy);
+        MemberSearchTemplate template = searchTemplates.get(key);
+        if (template == null) {
+            template = MemberSearchTemplate.compile(condition, orderBy);
+            if (searchTemplates.size() < MAX_SEARCH_TEMPLATES) {
+                searchTemplates.putIfAbsent(key, template);
+            }
+        }
+
+        TypedQuery<MemberDto> query = template.bind(
+                em.createQuery(template.getContentJpql(), MemberDto.class), condition);
+        LongSupplier countQuery = () -> template.bind(
+                em.createQuery(template.getCountJpql(), Long.class), condition)
+                .getSingleResult();
+
+        return toPage(query, pageable, CountStrategy.EXACT, null, countQuery);
+    }
+
+    @Override
+    @Transactional
+    public Member createMember(String username, int age, Long teamId) {
+        Member member = new Member(username, age, teamReference(teamId));
+        em.persist(member);
+        return member;
+    }
+
+    @Override
+    @Transactional
+    public List<Member> createMembers(String usernamePrefix, int age, List<Long> teamIds) {
+        List<Member> members = new ArrayList<>(teamIds.size());
+        for (int i = 0; i < teamIds.size(); i++) {
+            Member member = new Member(usernamePrefix + i, age, teamReference(teamIds.get(i)));
+            em.persist(member);
+            members.add(member);
+        }
+        return members;
+    }
+
+    /**
+     * 영속성 컨텍스트에 있으면 그 엔티티, 없으면 초기화되지 않은 프록시 (changeTeam 이 컬렉션/Team 을 로딩하지 않음)
+     */
+    private Team teamReference(Long teamId) {
+        return teamId != null ? em.getReference(Team.class, teamId) : null;
+    }
+
+    @Override
+    @Transactional
+    public int saveAllBatched(Iterable<Member> members, int batchSize) {
+        return BatchInsertRepositoryImpl.persistInBatches(em, members, batchSize);
+    }
+
+    @Override
+    public Stream<MemberDto> streamMemberDto(int fetchSize) {
+        return em.createQuery("select new study.datajpa.dto.MemberDto(m.id, m.username, t.name)" +
+                        " from Member m left join m.team t", MemberDto.class)
+                .setHint(HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+
+    @Override
+    public BulkUpdateProgress bulkAgePlusChunked(int age, int chunkSize, BulkUpdateProgress resumeFrom,
+                                                 Consumer<BulkUpdateProgress> progressListener) {
+        Assert.isTrue(chunkSize > 0, "chunkSize 는 1 이상");
+        Assert.notNull(progressListener, "progressListener 는 필수 (필요 없으면 progress -> {})");
+        Assert.state(!TransactionSynchronizationManager.isActualTransactionActive(),
+                "bulkAgePlusChunked 는 트랜잭션 밖에서 호출 (구간마다 커밋, 호출한 트랜잭션의 락과 교착 가능)");
+
+        TransactionTemplate chunkTx = new TransactionTemplate(transactionManager);
+        chunkTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        BulkUpdateProgress progress = resumeFrom != null ? resumeFrom : chunkTx.execute(status -> {
+            Object[] range = em.createQuery("select min(m.id), max(m.id) from Member m", Object[].class)
+                    .getSingleResult();
+            return new BulkUpdateProgress(range[0] != null ? (Long) range[0] : 0L, (Long) range[1], 0, 0);
+        });
+        Long maxId = progress.getMaxId();
+        while (!progress.isCompleted()) {
+            long from = progress.getNextId();
+            long to = from + chunkSize;
+
+            Integer updated = chunkTx.execute(status -> em.createQuery(
+                            "update Member m set m.age = m.age + 1, m.version = m.version + 1" +
+                                    " where m.age >= :age and m.id >= :from and m.id < :to")
+                    .setParameter("age", age)
+                    .setParameter("from", from)
+                    .setParameter("to", to)
+                    .executeUpdate());
+
+            progress = new BulkUpdateProgress(to, maxId,
+                    progress.getChunkCount() + 1, progress.getUpdatedCount() + updated);
+            progressListener.accept(progress);
+        }
+        return progress;
+    }
+
+    private <T> Page<T> toPage(TypedQuery<T> query, Pageable pageable, CountStrategy countStrategy,
+                               String countKey, LongSupplier countQuery) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(query.getResultList());
+        }
+
+        query.setFirstResult((int) pageable.getOffset());
+
+        if (countStrategy == CountStrategy.NONE) {
+            List<T> content = query.setMaxResults(pageable.getPageSize() + 1).getResultList();
+            boolean hasNext = content.size() > pageable.getPageSize();
+            if (hasNext) {
+                content = content.subList(0, pageable.getPageSize());
+            }
+            //다음 페이지가 있으면 total 을 하나 더 크게 잡아서 hasNext() 가 true 가 되도록 함
+            long total = pageable.getOffset() + content.size() + (hasNext ? 1 : 0);
+            return new PageImpl<>(content, pageable, total);
+        }
+
+        List<T> content = query.setMaxResults(pageable.getPageSize()).getResultList();
+
+        //첫 페이지인데 size 보다 적거나, 마지막 페이지면 count 쿼리 자체를 생략
+        LongSupplier cached = () -> countCache.get(countKey, countQuery);
+        //ESTIMATED 는 추정 쿼리가 설정되지 않았거나 실패하면 CACHED
+        LongSupplier total = countStrategy == CountStrategy.CACHED ? cached
+                : countStrategy == CountStrategy.ESTIMATED ? () -> countEstimator.estimate().orElseGet(cached)
+                : countQuery;
+        return PageableExecutionUtils.getPage(content, pageable, total);
+    }
+
+    /**
+     * 허용한 속성만 정렬 - 요청 파라미터가 JPQL 에 그대로 들어가지 않도록 함
+     */
+    private static String orderBy(Sort sort, Map<String, String> paths) {
+        if (sort.isUnsorted()) {
+            return "";
+        }
+        StringJoiner orderBy = new StringJoiner(", ", " order by ", "");
+        Set<String> sorted = new HashSet<>();
+        for (Sort.Order order : sort) {
+            String path = paths.get(order.getProperty());
+            if (path == null) {
+                throw new InvalidSortPropertyException(order.getProperty());
+            }
+            //같은 속성이 반복되면 처음 것만 (sort=id&sort=id... 로 JPQL 종류가 늘어나지 않도록)
+            if (sorted.add(order.getProperty())) {
+                orderBy.add(path + (order.isAscending() ? " asc" : " desc"));
+            }
+        }
+        return orderBy.toString();
+    }
 }
@@ -0,0 +1,78 @@
+package study.datajpa.repository;
+
+import org.springframework.util.StringUtils;
+import study.datajpa.dto.MemberSearchCondition;
+
+import javax.persistence.Query;
+import java.util.StringJoiner;
+
+/**
+ * 검색 조건의 "모양"(어떤 조건이 있는지) 별로 한 번만 만드는 JPQL
+ * 같은 모양의 검색은 문자열이 같기 때문에 Hibernate query plan cache 를 그대로 사용하고 파라미터만 바인딩
+ *
+ * team 은 select 에서 이미 조인하기 때문에 teamName 조건이 있어도 조인을 추가하지 않음
+ */
+final class MemberSearchTemplate {
+
+    private static final int USERNAME = 1;
+    private static final int AGE_GOE = 1 << 1;
+    private static final int AGE_LOE = 1 << 2;
+    private static final int TEAM_NAME = 1 << 3;
+
+    private final int shape;
+    private final String contentJpql;
+    private final String countJpql;
+
+    private MemberSearchTemplate(int shape, String orderBy) {
+        this.shape = shape;
+
+        StringJoiner where = new StringJoiner(" and ", " where ", "").setEmptyValue("");
+        if (has(USERNAME)) where.add("m.username = :username");
+        if (has(AGE_GOE)) where.add("m.age >= :ageGoe");
+        if (has(AGE_LOE)) where.add("m.age <= :ageLoe");
+        if (has(TEAM_NAME)) where.add("t.name = :teamName");
+
+        this.contentJpql = "select new study.datajpa.dto.MemberDto(m.id, m.username, t.name)" +
+                " from Member m left join m.team t" + where + orderBy;
+        //count 는 team 조건이 있을 때만 조인
+        this.countJpql = "select count(m) from Member m" +
+                (has(TEAM_NAME) ? " join m.team t" : "") + where;
+    }
+
+    static String key(MemberSearchCondition condition, String orderBy) {
+        return shapeOf(condition) + orderBy;
+    }
+
+    static MemberSearchTemplate compile(MemberSearchCondition condition, String orderBy) {
+        return new MemberSearchTemplate(shapeOf(condition), orderBy);
+    }
+
+    String getContentJpql() {
+        return contentJpql;
+    }
+
+    String getCountJpql() {
+        return countJpql;
+    }
+
+    <Q extends Query> Q bind(Q query, MemberSearchCondition condition) {
+        if (has(USERNAME)) query.setParameter("username", condition.getUsername());
+        if (has(AGE_GOE)) query.setParameter("ageGoe", condition.getAgeGoe());
+        if (has(AGE_LOE)) query.setParameter("ageLoe", condition.getAgeLoe());
+        if (has(TEAM_NAME)) query.setParameter("teamName", condition.getTeamName());
+        return query;
+    }
+
+    private boolean has(int flag) {
+        return (shape & flag) != 0;
+    }
+
+    private static int shapeOf(MemberSearchCondition condition) {
+        int shape = 0;
+        if (StringUtils.hasText(condition.getUsername())) shape |= USERNAME;
+        if (condition.getAgeGoe() != null) shape |= AGE_GOE;
+        if (condition.getAgeLoe() != null) shape |= AGE_LOE;
+        if (StringUtils.hasText(condition.getTeamName())) shape |= TEAM_NAME;
+        return shape;
+    }
+}
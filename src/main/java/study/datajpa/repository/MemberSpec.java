@@ -16,11 +16,23 @@ public class MemberSpec {
                 return null;
             }
 
-            Join<Member, Team> t = root.join("team", JoinType.INNER);//회원과 조인
+            Join<Member, Team> t = teamJoin(root);//회원과 조인
             return builder.equal(t.get("name"), teamName);
         };
     }
 
+    /**
+     * 다른 Specification 이 이미 team 을 조인했으면 재사용 (같은 조인 중복 방지)
+     */
+    @SuppressWarnings("unchecked")
+    private static Join<Member, Team> teamJoin(Root<Member> root) {
+        return root.getJoins().stream()
+                .filter(join -> join.getAttribute().getName().equals("team"))
+                .map(join -> (Join<Member, Team>) join)
+                .findFirst()
+                .orElseGet(() -> root.join("team", JoinType.INNER));
+    }
+
     public static Specification<Member> username(final String username) {
         return (root, query, builder) ->
             builder.equal(root.get("username"), username);
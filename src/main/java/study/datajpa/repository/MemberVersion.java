@@ -0,0 +1,44 @@
+package study.datajpa.repository;
+
+import lombok.Getter;
+import study.datajpa.entity.Member;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * 조건부 GET(ETag / Last-Modified) 판단용 회원 버전 - 엔티티를 조회하지 않고 id, version, lastModifiedDate 만
+ */
+@Getter
+public class MemberVersion {
+
+    private final Long id;
+    private final Long version;
+    private final LocalDateTime lastModifiedDate;
+
+    public MemberVersion(Long id, Long version, LocalDateTime lastModifiedDate) {
+        this.id = id;
+        this.version = version;
+        this.lastModifiedDate = lastModifiedDate;
+    }
+
+    public static MemberVersion of(Member member) {
+        return new MemberVersion(member.getId(), member.getVersion(), member.getLastModifiedDate());
+    }
+
+    /**
+     * @Version 기준 - lastModifiedDate 는 같은 시각에 두 번 수정되거나 bulk update 로 바뀌면 구분하지 못함
+     */
+    public String getETag() {
+        return "\"member-" + id + "-" + version + "\"";
+    }
+
+    /**
+     * Last-Modified (없으면 -1 -> If-Modified-Since 검사 생략)
+     */
+    public long getLastModifiedMillis() {
+        return lastModifiedDate != null
+                ? lastModifiedDate.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : -1;
+    }
+}
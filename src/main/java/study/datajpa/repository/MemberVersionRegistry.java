@@ -0,0 +1,121 @@
+package study.datajpa.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 회원별 버전(ETag / Last-Modified) 메모리 캐시 - 변경되지 않았으면 DB 조회, 직렬화 없이 304
+ *
+ * 커밋 후 MemberVersionEventListener 가 갱신 (커밋 전에 갱신하면 커밋되지 않은 버전으로 304 가 나갈 수 있음)
+ * 캐시에 없으면 id, version, lastModifiedDate 만 조회 (엔티티 조회 X)
+ * bulk update 는 엔티티 이벤트가 없기 때문에 MemberModificationAspect 가 invalidateAll 호출
+ *
+ * 단일 인스턴스 기준 - 다른 인스턴스나 직접 실행한 SQL 의 변경은 감지하지 못함
+ */
+@Component
+public class MemberVersionRegistry {
+
+    private final EntityManager em;
+    private final int maxEntries;
+    private final Map<Long, MemberVersion> versions = new ConcurrentHashMap<>();
+
+    /**
+     * 회원이 하나라도 바뀌면 증가 - 목록(/members) ETag
+     * 시작 시각에서 시작해서 재시작 전후 같은 값(잘못된 304)이 나오지 않도록 함
+     * 조회 중 변경이 일어나면 오래된 값을 저장하지 않기 위한 세대 번호로도 사용
+     */
+    private final AtomicLong generation = new AtomicLong(System.currentTimeMillis());
+    private volatile long lastModified = System.currentTimeMillis();
+
+    public MemberVersionRegistry(EntityManager em,
+                                 @Value("${datajpa.etag.max-entries:100000}") int maxEntries) {
+        this.em = em;
+        this.maxEntries = maxEntries;
+    }
+
+    public Optional<MemberVersion> find(Long id) {
+        MemberVersion cached = versions.get(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        long currentGeneration = generation.get();
+        List<MemberVersion> result = em.createQuery(
+                        "select new study.datajpa.repository.MemberVersion(m.id, m.version, m.lastModifiedDate)" +
+                                " from Member m where m.id = :id", MemberVersion.class)
+                .setParameter("id", id)
+                .getResultList();
+        if (result.isEmpty()) {
+            return Optional.empty();
+        }
+
+        MemberVersion version = result.get(0);
+        if (generation.get() == currentGeneration && versions.size() < maxEntries) {
+            versions.putIfAbsent(id, version);
+        }
+        return Optional.of(version);
+    }
+
+    public String getListETag() {
+        return "\"members-" + generation.get() + "\"";
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * 커밋된 insert / update
+     * 이미 캐시된 회원만 갱신 - 새 회원은 조회될 때 find 에서 추가 (maxEntries 제한)
+     */
+    public void changed(MemberVersion version) {
+        touch();
+        versions.computeIfPresent(version.getId(), (id, cached) -> version);
+    }
+
+    /**
+     * 커밋된 delete
+     */
+    public void removed(Long id) {
+        touch();
+        versions.remove(id);
+    }
+
+    /**
+     * 트랜잭션 안이면 커밋 전 조회로 다시 캐시된 값도 지우도록 트랜잭션 종료 후 한 번 더 비움
+     */
+    public void invalidateAll() {
+        clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    clear();
+                }
+            });
+        }
+    }
+
+    int size() {
+        return versions.size();
+    }
+
+    private void clear() {
+        touch();
+        versions.clear();
+    }
+
+    private void touch() {
+        generation.incrementAndGet();
+        lastModified = System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,76 @@
+package study.datajpa.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * 낙관적 락 충돌 시 새 트랜잭션으로 다시 실행 (findLockByUsername 비관적 락 대신 사용)
+ *
+ * 작업마다 REQUIRES_NEW 트랜잭션 - 재시도 때 엔티티를 다시 조회해서 최신 버전으로 수정
+ * 재시도 간격은 지수 증가 + jitter (동시에 충돌한 요청이 같은 시점에 다시 충돌하지 않도록)
+ *
+ * ex) retryExecutor.run(() -> memberRepository.findById(id).orElseThrow().changeUsername(name));
+ */
+@Component
+public class OptimisticLockRetryExecutor {
+
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    public OptimisticLockRetryExecutor(PlatformTransactionManager transactionManager,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${datajpa.optimistic-retry.max-attempts:5}") int maxAttempts,
+                                       @Value("${datajpa.optimistic-retry.initial-backoff:10ms}") Duration initialBackoff,
+                                       @Value("${datajpa.optimistic-retry.max-backoff:200ms}") Duration maxBackoff) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    public void run(Runnable work) {
+        execute(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    public <T> T execute(Supplier<T> work) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    meterRegistry.counter("jpa.optimistic.retries", "result", "exhausted").increment();
+                    throw e;
+                }
+                meterRegistry.counter("jpa.optimistic.retries", "result", "retry").increment();
+                backoff(attempt, e);
+            }
+        }
+    }
+
+    private void backoff(int attempt, OptimisticLockingFailureException cause) {
+        long max = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() << Math.min(attempt - 1, 20));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(max + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+}
@@ -1,7 +1,19 @@
 package study.datajpa.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import study.datajpa.dto.TeamMemberCountDto;
 import study.datajpa.entity.Team;
 
+import java.util.List;
+
 public interface TeamRepository extends JpaRepository<Team, Long> {
+
+    /**
+     * 팀별 회원 수 - 컬렉션 로딩 없이 group by 한 번으로 조회 (회원이 없는 팀은 0)
+     */
+    @Query("select new study.datajpa.dto.TeamMemberCountDto(t.id, t.name, count(m))" +
+            " from Team t left join t.members m" +
+            " group by t.id, t.name")
+    List<TeamMemberCountDto> findMemberCounts();
 }
@@ -0,0 +1,82 @@
+package study.datajpa.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * H2 두 개(primary, replica)로 라우팅 확인
+ */
+class ReplicationRoutingDataSourceTest {
+
+    DataSource primary = new DriverManagerDataSource("jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1", "sa", "");
+    DataSource replica = new DriverManagerDataSource("jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1", "sa", "");
+    ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, null, Duration.ofSeconds(5), Duration.ofSeconds(5));
+    ReplicationRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("create table if not exists member (member_id bigint primary key)");
+        }
+        routingDataSource = new ReplicationRoutingDataSource(primary, replica, monitor);
+        routingDataSource.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void afterEach() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    public void readWrite() throws SQLException {
+        assertThat(connectedUrl()).contains("primary");
+    }
+
+    @Test
+    public void readOnly() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(connectedUrl()).contains("replica");
+    }
+
+    @Test
+    public void readOnlyFallback() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        monitor.markUnavailable(new SQLException("replica lag"));
+
+        assertThat(connectedUrl()).contains("primary");
+
+        //다음 확인에서 replica 복구
+        monitor.check();
+        assertThat(connectedUrl()).contains("replica");
+    }
+
+    @Test
+    public void replicaWithoutSchema() {
+        DataSource emptyReplica = new DriverManagerDataSource("jdbc:h2:mem:replica-empty;DB_CLOSE_DELAY=-1", "sa", "");
+        ReplicaLagMonitor emptyMonitor = new ReplicaLagMonitor(emptyReplica, null, Duration.ofSeconds(5), Duration.ofSeconds(5));
+
+        //연결은 되지만 member 테이블이 없음
+        emptyMonitor.check();
+
+        assertThat(emptyMonitor.isReplicaAvailable()).isFalse();
+    }
+
+    private String connectedUrl() throws SQLException {
+        try (Connection connection = routingDataSource.getConnection()) {
+            return connection.getMetaData().getURL();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package study.datajpa.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 트랜잭션 단위 auditor - REQUIRES_NEW 안쪽 트랜잭션은 바깥 값을 재사용하지 않음
+ */
+class TransactionScopedAuditorAwareTest {
+
+    DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(
+            new DriverManagerDataSource("jdbc:h2:mem:auditor;DB_CLOSE_DELAY=-1", "sa", ""));
+    TransactionScopedAuditorAware auditorAware = new TransactionScopedAuditorAware();
+
+    @Test
+    public void requiresNew() {
+        TransactionTemplate outer = new TransactionTemplate(transactionManager);
+        TransactionTemplate inner = new TransactionTemplate(transactionManager);
+        inner.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        outer.executeWithoutResult(status -> {
+            String outerAuditor = auditorAware.getCurrentAuditor().orElseThrow();
+            String innerAuditor = inner.execute(innerStatus -> {
+                String value = auditorAware.getCurrentAuditor().orElseThrow();
+                assertThat(auditorAware.getCurrentAuditor()).contains(value); //안쪽 트랜잭션 안에서는 재사용
+                return value;
+            });
+
+            assertThat(innerAuditor).isNotEqualTo(outerAuditor);
+            assertThat(auditorAware.getCurrentAuditor()).contains(outerAuditor); //resume 후 바깥 값 복원
+        });
+    }
+}
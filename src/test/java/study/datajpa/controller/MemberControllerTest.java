@@ -0,0 +1,25 @@
+package study.datajpa.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class MemberControllerTest {
+
+    @Autowired MockMvc mockMvc;
+
+    @Test
+    public void invalidSort() throws Exception {
+        mockMvc.perform(get("/members").param("sort", "createdBy,desc"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/members/search").param("sort", "createdBy"))
+                .andExpect(status().isBadRequest());
+    }
+}
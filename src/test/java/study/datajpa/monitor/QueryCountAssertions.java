@@ -0,0 +1,23 @@
+package study.datajpa.monitor;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * QueryCountHolder.start() 이후 실행된 쿼리 검증
+ */
+public abstract class QueryCountAssertions {
+
+    public static void assertMaxQueries(int max) {
+        QueryCount queryCount = QueryCountHolder.current();
+        assertThat(queryCount.getTotal())
+                .withFailMessage("쿼리 %d 개 이하 예상, 실제 %d 개 %s", max, queryCount.getTotal(), queryCount.getStatements())
+                .isLessThanOrEqualTo(max);
+    }
+
+    public static void assertNoRepeatedSelects(int threshold) {
+        QueryCount queryCount = QueryCountHolder.current();
+        assertThat(queryCount.getRepeatedSelects(threshold))
+                .withFailMessage("N+1 의심 쿼리 %s", queryCount.getRepeatedSelects(threshold))
+                .isEmpty();
+    }
+}
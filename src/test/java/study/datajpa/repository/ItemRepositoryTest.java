@@ -4,7 +4,13 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import study.datajpa.entity.Item;
+import study.datajpa.monitor.QueryCount;
+import study.datajpa.monitor.QueryCountHolder;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
@@ -24,4 +30,28 @@ class ItemRepositoryTest {
         itemRepository.save(item);
     }
 
-}
\ No newline at end of file
+    /**
+     * 10,000 건 저장 시 SELECT 없이 batch insert 만 실행
+     * (hibernate.jdbc.batch_size = 100 -> executeBatch 100 번)
+     */
+    @Test
+    public void insertAll() {
+        //given
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            items.add(new Item("item" + i));
+        }
+
+        //when
+        QueryCountHolder.start();
+        int insertCount = itemRepository.insertAll(items);
+        QueryCount queryCount = QueryCountHolder.stop();
+        System.out.println("statements per 10k items = " + queryCount.getTotal());
+
+        //then
+        assertThat(insertCount).isEqualTo(10_000);
+        assertThat(queryCount.getSelectCount()).isEqualTo(0);
+        assertThat(queryCount.getTotal()).isLessThanOrEqualTo(100);
+    }
+
+}
@@ -108,6 +108,28 @@ class MemberJpaRepositoryTest {
         assertThat(totalCount).isEqualTo(10);
     }
 
+    @Test
+    public void keysetPaging() {
+        for(int i=1; i<=10; i++) {
+            memberJpaRepository.save(new Member("member"+i, 10+i*5, null));
+        }
+
+        int age = 10;
+        int limit = 3;
+
+        //첫 페이지
+        List<Member> first = memberJpaRepository.findByKeyset(age, null, null, limit);
+        Member last = first.get(first.size() - 1);
+
+        //다음 페이지 - offset 없이 마지막 회원 기준
+        List<Member> second = memberJpaRepository.findByKeyset(age, last.getUsername(), last.getId(), limit);
+
+        assertThat(first.size()).isEqualTo(3);
+        assertThat(second.size()).isEqualTo(3);
+        assertThat(second).doesNotContainAnyElementsOf(first);
+        assertThat(second).containsExactlyElementsOf(memberJpaRepository.findByPage(age, 3, limit));
+    }
+
     @Test
     public void bulkUpdate() {
         //given
@@ -1,5 +1,10 @@
 package study.datajpa.repository;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -8,20 +13,34 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.dao.IncorrectResultSizeDataAccessException;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.annotation.Rollback;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import study.datajpa.dto.MemberDto;
+import study.datajpa.dto.MemberSearchCondition;
+import study.datajpa.dto.TeamMemberCountDto;
 import study.datajpa.entity.Member;
 import study.datajpa.entity.Team;
+import study.datajpa.monitor.IndexAdvice;
+import study.datajpa.monitor.IndexAdvisor;
+import study.datajpa.monitor.QueryCount;
+import study.datajpa.monitor.QueryCountHolder;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
+import static study.datajpa.monitor.QueryCountAssertions.*;
 
 
 @SpringBootTest
@@ -34,6 +53,12 @@ class MemberRepositoryTest {
     @PersistenceContext EntityManager em;
 
     @Autowired MemberQueryRepository memberQueryRepository;
+    @Autowired MeterRegistry meterRegistry;
+    @Autowired IndexAdvisor indexAdvisor;
+    @Autowired OptimisticLockRetryExecutor retryExecutor;
+    @Autowired MemberVersionRegistry versionRegistry;
+    @Autowired MemberCountEstimator countEstimator;
+    @Autowired JdbcTemplate jdbcTemplate;
 
     /**
      * Rollback false 로 인한
@@ -165,6 +190,33 @@ class MemberRepositoryTest {
         assertThat(result).containsExactly(member1, member2);
     }
 
+    @Test
+    public void loadAllByUsernames() {
+        //given
+        List<String> usernames = new ArrayList<>();
+        for(int i=1; i<=600; i++) {
+            memberRepository.save(new Member("member"+i, 10, null));
+            usernames.add("member"+i);
+        }
+        em.flush();
+        em.clear();
+
+        //when
+        QueryCountHolder.start();
+        List<Member> three = memberRepository.loadAllByUsernames(usernames.subList(0, 3));
+        List<Member> four = memberRepository.loadAllByUsernames(usernames.subList(0, 4));
+        List<Member> all = memberRepository.loadAllByUsernames(usernames);
+        QueryCount queryCount = QueryCountHolder.stop();
+
+        //then
+        assertThat(three.size()).isEqualTo(3);
+        assertThat(four.size()).isEqualTo(4);
+        assertThat(all.size()).isEqualTo(600);
+        //3개, 4개 모두 4개로 padding -> 같은 SQL / 600개는 512 + 88(->128) 두 번
+        assertThat(queryCount.getStatements().size()).isEqualTo(3);
+        assertThat(queryCount.getTotal()).isEqualTo(4);
+    }
+
     @Test
     public void returnType() {
         Member member1 = new Member("AAA", 10, null);
@@ -233,6 +285,102 @@ class MemberRepositoryTest {
         assertThat(page.hasNext()).isTrue();
     }
 
+    @Test
+    public void paging_countStrategy() {
+        for(int i=1; i<=5; i++) {
+            memberRepository.save(new Member("member"+i, 10, null));
+        }
+        PageRequest pageRequest = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "username"));
+
+        //when
+        Page<Member> cached = memberRepository.findAll(pageRequest, CountStrategy.CACHED);
+        memberRepository.save(new Member("member6", 10, null)); //save 시 count 캐시 무효화
+        Page<Member> afterSave = memberRepository.findAll(pageRequest, CountStrategy.CACHED);
+        Page<Member> noCount = memberRepository.findPageByAge(10, pageRequest, CountStrategy.NONE);
+
+        //then
+        assertThat(cached.getTotalElements()).isEqualTo(5);
+        assertThat(cached.getContent().get(0).getUsername()).isEqualTo("member5");
+        assertThat(afterSave.getTotalElements()).isEqualTo(6);
+        assertThat(noCount.getContent().size()).isEqualTo(2);
+        assertThat(noCount.hasNext()).isTrue();
+    }
+
+    @Test
+    public void countEstimator() {
+        //설정된 H2 추정 쿼리
+        assertThat(countEstimator.estimate()).isPresent();
+
+        //설정이 없거나 DB 에 맞지 않는 쿼리면 empty (ESTIMATED -> CACHED)
+        assertThat(new MemberCountEstimator(jdbcTemplate, "").estimate()).isEmpty();
+        MemberCountEstimator invalid = new MemberCountEstimator(jdbcTemplate, "select reltuples from pg_class");
+        assertThat(invalid.estimate()).isEmpty();
+    }
+
+    @Test
+    public void paging_dto() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        teamRepository.save(teamA);
+        teamRepository.save(teamB);
+        for(int i=1; i<=4; i++) {
+            memberRepository.save(new Member("member"+i, 10, i % 2 == 0 ? teamA : teamB));
+        }
+        memberRepository.save(new Member("member5", 10, null));
+
+        PageRequest pageRequest = PageRequest.of(0, 3,
+                Sort.by(Sort.Order.desc("teamName"), Sort.Order.desc("username")));
+
+        //when
+        Page<MemberDto> page = memberRepository.findMemberDtoPage(pageRequest, CountStrategy.EXACT);
+
+        //then
+        List<MemberDto> content = page.getContent();
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(content).extracting(MemberDto::getTeamName).contains("teamA");
+        assertThat(content).extracting(MemberDto::getUsername).containsExactly("member3", "member1", "member4");
+        assertThatThrownBy(() -> memberRepository.findMemberDtoPage(
+                PageRequest.of(0, 3, Sort.by("createdBy")), CountStrategy.EXACT))
+                .isInstanceOf(InvalidSortPropertyException.class);
+    }
+
+    @Test
+    public void paging_keyset() {
+        for(int i=1; i<=10; i++) {
+            memberRepository.save(new Member("member"+i, 10, null));
+        }
+
+        //when
+        Slice<Member> first = memberRepository.findKeysetPage(null, 4);
+        List<Member> content = first.getContent();
+        Slice<Member> second = memberRepository.findKeysetPage(content.get(content.size() - 1).getId(), 4);
+        Slice<Member> last = memberRepository.findKeysetPage(second.getContent().get(3).getId(), 4);
+
+        //then
+        assertThat(first.getContent().size()).isEqualTo(4);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(second.getContent()).doesNotContainAnyElementsOf(first.getContent());
+        assertThat(last.getContent().size()).isEqualTo(2);
+        assertThat(last.hasNext()).isFalse();
+    }
+
+    @Test
+    public void paging_keysetDto() {
+        //given
+        Team team = teamRepository.save(new Team("teamA"));
+        Long firstId = memberRepository.save(new Member("member1", 10, team)).getId();
+        memberRepository.save(new Member("member2", 10, null));
+        memberRepository.save(new Member("member3", 10, team));
+
+        //when
+        Slice<MemberDto> slice = memberRepository.findMemberDtoKeysetPage(firstId - 1, 2);
+
+        //then
+        assertThat(slice.getContent()).extracting(MemberDto::getUsername, MemberDto::getTeamName)
+                .containsExactly(tuple("member1", "teamA"), tuple("member2", null));
+        assertThat(slice.hasNext()).isTrue();
+    }
+
     @Test
     public void bulkUpdate() {
         //given
@@ -251,6 +399,298 @@ class MemberRepositoryTest {
         assertThat(resultCount).isEqualTo(4);
     }
 
+    /**
+     * generate_statistics 는 기본 off (datajpa.hibernate-statistics.enabled) - 필요한 테스트에서만 런타임에 켬
+     */
+    private Statistics statistics() {
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        return statistics;
+    }
+
+    @Test
+    public void saveAllBatched() {
+        //given 처리량은 BatchInsertBenchmark (jmh)
+        int size = 1_000;
+        List<Member> members = new ArrayList<>();
+        for(int i=0; i<size; i++) {
+            members.add(new Member("member"+i, i % 100, null));
+        }
+        Statistics statistics = statistics();
+
+        //when
+        int savedCount = memberRepository.saveAllBatched(members, 100);
+
+        //then
+        assertThat(savedCount).isEqualTo(size);
+        assertThat(memberRepository.findByUsername("member" + (size - 1))).isNotEmpty();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(size);
+        //insert 는 batch(100) 마다, 시퀀스는 50 개마다 한 번 prepare -> row 마다 prepare 하지 않음
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(size / 10);
+    }
+
+    @Test
+    public void streamMemberDto() {
+        //given
+        Team team = new Team("teamA");
+        teamRepository.save(team);
+        for(int i=1; i<=5; i++) {
+            memberRepository.save(new Member("member"+i, 10, team));
+        }
+        em.flush();
+        em.clear();
+
+        //when
+        long count;
+        try (Stream<MemberDto> stream = memberRepository.streamMemberDto(2)) {
+            count = stream
+                    .filter(dto -> "teamA".equals(dto.getTeamName()))
+                    .count();
+        }
+
+        //then
+        assertThat(count).isEqualTo(5);
+    }
+
+    /**
+     * 구간마다 새 트랜잭션으로 커밋하기 때문에 테스트 트랜잭션 없이 실행
+     */
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void bulkUpdateChunked() {
+        //given
+        List<Member> members = new ArrayList<>();
+        for(int i=1; i<=5; i++) {
+            members.add(new Member("member"+i, 10+i*5, null));
+        }
+        memberRepository.saveAll(members);
+
+        //when
+        List<BulkUpdateProgress> progresses = new ArrayList<>();
+        BulkUpdateProgress result = memberRepository.bulkAgePlusChunked(20, 2, null, progresses::add);
+
+        //then
+        assertThat(result.isCompleted()).isTrue();
+        assertThat(result.getUpdatedCount()).isEqualTo(4);
+        assertThat(progresses.size()).isEqualTo(result.getChunkCount());
+        assertThat(memberRepository.findByUsername("member5").get(0).getAge()).isEqualTo(36);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void bulkUpdateChunked_resume() {
+        //given
+        memberRepository.save(new Member("resume1", 50, null));
+        String listETag = versionRegistry.getListETag();
+
+        //첫 구간 커밋 후 중단
+        List<BulkUpdateProgress> progresses = new ArrayList<>();
+        assertThatThrownBy(() -> memberRepository.bulkAgePlusChunked(50, 100, null, progress -> {
+            progresses.add(progress);
+            throw new IllegalStateException("중단");
+        })).isInstanceOf(IllegalStateException.class);
+        //커밋된 구간이 있으므로 실패해도 ETag 무효화
+        assertThat(versionRegistry.getListETag()).isNotEqualTo(listETag);
+        Long addedId = memberRepository.save(new Member("resumeAdded", 50, null)).getId();
+
+        //when
+        BulkUpdateProgress result = memberRepository.bulkAgePlusChunked(50, 100, progresses.get(0), progress -> {});
+
+        //then 처음 실행 시점의 maxId 까지만 - 중간에 추가된 회원은 그대로
+        assertThat(result.isCompleted()).isTrue();
+        assertThat(result.getMaxId()).isEqualTo(progresses.get(0).getMaxId());
+        assertThat(memberRepository.findById(addedId).orElseThrow().getAge()).isEqualTo(50);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void bulkUpdateChunked_nullListener() {
+        assertThatThrownBy(() -> memberRepository.bulkAgePlusChunked(20, 2, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void bulkUpdateChunked_inTransaction() {
+        assertThatThrownBy(() -> memberRepository.bulkAgePlusChunked(20, 2, null, progress -> {}))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void findAsync() throws Exception {
+        //given
+        memberRepository.save(new Member("async1", 77, null));
+        memberRepository.save(new Member("async2", 77, null));
+
+        //when
+        CompletableFuture<List<MemberDto>> future = memberRepository.findMemberDtoAsyncByAge(77);
+
+        //then
+        assertThat(future.get(5, TimeUnit.SECONDS))
+                .extracting(MemberDto::getUsername)
+                .contains("async1", "async2");
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void lockHoldMetrics() {
+        //given
+        memberRepository.save(new Member("locked", 10, null));
+
+        //when
+        memberRepository.findLockByUsername("locked");
+
+        //then
+        Timer timer = meterRegistry.find("jpa.lock.hold").tag("method", "findLockByUsername").timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    public void indexAdvisor() {
+        //when
+        List<IndexAdvice> advices = indexAdvisor.advise();
+
+        //then Member 조건 컬럼은 모두 @Table indexes 로 커버
+        assertThat(advices).filteredOn(advice -> advice.getTable().equals("member")).isEmpty();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void optimisticLockRetry() {
+        //given
+        Long id = memberRepository.save(new Member("optimistic", 10, null)).getId();
+        AtomicInteger attempts = new AtomicInteger();
+
+        //when 첫 시도 중 다른 트랜잭션이 먼저 수정 -> 커밋 시 충돌 -> 재시도
+        retryExecutor.run(() -> {
+            Member member = memberRepository.findById(id).orElseThrow();
+            if (attempts.incrementAndGet() == 1) {
+                retryExecutor.run(() -> memberRepository.findById(id).orElseThrow().changeUsername("other"));
+            }
+            member.changeUsername("optimistic" + attempts.get());
+        });
+
+        //then
+        Member result = memberRepository.findById(id).orElseThrow();
+        assertThat(attempts.get()).isEqualTo(2);
+        assertThat(result.getUsername()).isEqualTo("optimistic2");
+        assertThat(result.getVersion()).isEqualTo(2L);
+    }
+
+    @Test
+    public void changeTeamWithoutLoadingMembers() {
+        //given
+        Team teamA = teamRepository.save(new Team("moveA"));
+        Team teamB = teamRepository.save(new Team("moveB"));
+        for (int i = 0; i < 10; i++) {
+            memberRepository.save(new Member("member" + i, i, teamA));
+        }
+        Long movedId = memberRepository.save(new Member("moved", 10, teamA)).getId();
+
+        em.flush();
+        em.clear();
+
+        //when
+        Team loadedB = teamRepository.findById(teamB.getId()).orElseThrow();
+        memberRepository.findById(movedId).orElseThrow().changeTeam(loadedB);
+
+        //then 컬렉션 초기화 없이 추가, size() 는 count 쿼리
+        assertThat(Hibernate.isInitialized(loadedB.getMembers())).isFalse();
+        assertThat(loadedB.getMembers().size()).isEqualTo(1);
+        assertThat(Hibernate.isInitialized(loadedB.getMembers())).isFalse();
+
+        em.flush();
+        em.clear();
+
+        assertThat(teamRepository.findMemberCounts())
+                .extracting(TeamMemberCountDto::getTeamName, TeamMemberCountDto::getMemberCount)
+                .contains(tuple("moveA", 10L), tuple("moveB", 1L));
+    }
+
+    @Test
+    public void createMemberWithTeamId() {
+        //given
+        Team teamA = teamRepository.save(new Team("refA"));
+        Team teamB = teamRepository.save(new Team("refB"));
+        memberRepository.save(new Member("sequence", 10, null)); //시퀀스 미리 할당
+        em.flush();
+        em.clear();
+
+        //when
+        QueryCountHolder.start();
+        Member member = memberRepository.createMember("ref", 10, teamA.getId());
+        memberRepository.createMembers("refs", 20, List.of(teamA.getId(), teamB.getId()));
+        em.flush();
+        QueryCount queryCount = QueryCountHolder.stop();
+
+        //then Team 조회 없이 insert 만
+        assertThat(queryCount.getStatements().keySet())
+                .filteredOn(sql -> sql.stripLeading().toLowerCase().startsWith("select"))
+                .allMatch(sql -> sql.contains("next value for"));
+        assertThat(Hibernate.isInitialized(member.getTeam())).isFalse();
+
+        em.clear();
+        assertThat(teamRepository.findMemberCounts())
+                .extracting(TeamMemberCountDto::getTeamName, TeamMemberCountDto::getMemberCount)
+                .contains(tuple("refA", 2L), tuple("refB", 1L));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void memberVersionRegistry() {
+        //given
+        Long id = memberRepository.save(new Member("etag", 10, null)).getId();
+        MemberVersion saved = versionRegistry.find(id).orElseThrow();
+        String listETag = versionRegistry.getListETag();
+
+        //when 커밋 후 registry 갱신
+        retryExecutor.run(() -> memberRepository.findById(id).orElseThrow().changeUsername("etag2"));
+
+        //then
+        MemberVersion changed = versionRegistry.find(id).orElseThrow();
+        assertThat(changed.getETag()).isNotEqualTo(saved.getETag());
+        assertThat(changed.getVersion()).isEqualTo(saved.getVersion() + 1);
+        assertThat(versionRegistry.getListETag()).isNotEqualTo(listETag);
+        assertThat(versionRegistry.find(-1L)).isEmpty();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void memberVersionRegistry_batchDelete() {
+        //given
+        Long id = memberRepository.save(new Member("etagDelete", 10, null)).getId();
+        assertThat(versionRegistry.find(id)).isPresent();
+        String listETag = versionRegistry.getListETag();
+
+        //when 엔티티 이벤트 없는 bulk delete
+        memberRepository.deleteAllByIdInBatch(List.of(id));
+
+        //then
+        assertThat(versionRegistry.getListETag()).isNotEqualTo(listETag);
+        assertThat(versionRegistry.find(id)).isEmpty();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void memberVersionRegistry_maxEntries() {
+        //given
+        MemberVersionRegistry registry = new MemberVersionRegistry(em, 2);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(memberRepository.save(new Member("etagMax" + i, 10, null)).getId());
+        }
+
+        //when
+        ids.forEach(registry::find);
+        registry.changed(new MemberVersion(-1L, 0L, null)); //캐시되지 않은 회원은 추가하지 않음
+
+        //then
+        assertThat(registry.size()).isEqualTo(2);
+        assertThat(registry.find(ids.get(2))).isPresent(); //캐시하지 않아도 조회는 가능
+    }
+
     @Test
     public void findMemberLazy() {
         //given
@@ -282,6 +722,50 @@ class MemberRepositoryTest {
                 });
     }
 
+    @Test
+    public void queryCount() {
+        //given
+        for(int i=1; i<=3; i++) {
+            Team team = new Team("team"+i);
+            teamRepository.save(team);
+            memberRepository.save(new Member("member"+i, 10, team));
+        }
+        em.flush();
+        em.clear();
+
+        //when
+        QueryCountHolder.start();
+        memberRepository.findMemberFetchJoin()
+                .forEach(member -> member.getTeam().getName());
+
+        //then
+        assertMaxQueries(1);
+        assertNoRepeatedSelects(2);
+        QueryCountHolder.stop();
+    }
+
+    @Test
+    public void repositoryMetrics() {
+        //given
+        memberRepository.save(new Member("member1", 10, null));
+        em.flush();
+
+        //when
+        memberRepository.findListByUsername("member1");
+
+        //then
+        Timer invocations = meterRegistry.find("repository.invocations")
+                .tag("repository", "MemberRepository")
+                .tag("method", "findListByUsername")
+                .timer();
+        Timer statements = meterRegistry.find("repository.jdbc.statements")
+                .tag("repository", "MemberRepository")
+                .tag("method", "findListByUsername")
+                .timer();
+        assertThat(invocations.count()).isGreaterThanOrEqualTo(1);
+        assertThat(statements.count()).isGreaterThanOrEqualTo(1);
+    }
+
     @Test
     public void queryHint() {
         //given
@@ -299,6 +783,30 @@ class MemberRepositoryTest {
         em.flush();
     }
 
+    /**
+     * 2차 캐시는 트랜잭션 커밋 시점에 반영되기 때문에 트랜잭션 없이 Repository 호출 단위로 커밋
+     */
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void secondLevelCache() {
+        //given
+        Team team = teamRepository.save(new Team("teamA"));
+        memberRepository.save(new Member("member1", 10, team));
+
+        Statistics statistics = statistics();
+
+        //when
+        teamRepository.findById(team.getId()); //miss -> 캐시 저장
+        teamRepository.findById(team.getId()); //hit
+        memberRepository.findByUsername("member1"); //쿼리 캐시 miss
+        List<Member> result = memberRepository.findByUsername("member1"); //쿼리 캐시 hit
+
+        //then
+        assertThat(result.get(0).getUsername()).isEqualTo("member1");
+        assertThat(statistics.getSecondLevelCacheHitCount()).isGreaterThanOrEqualTo(1);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
     @Test
     public void lock() {
         //given
@@ -336,6 +844,41 @@ class MemberRepositoryTest {
         assertThat(result.size()).isEqualTo(1);
     }
 
+    @Test
+    public void search() {
+        //given
+        Team teamA = new Team("searchA");
+        Team teamB = new Team("searchB");
+        em.persist(teamA);
+        em.persist(teamB);
+        em.persist(new Member("m1", 10, teamA));
+        em.persist(new Member("m2", 20, teamA));
+        em.persist(new Member("m3", 30, teamA));
+        em.persist(new Member("m4", 40, teamB));
+
+        em.flush();
+        em.clear();
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(15);
+        condition.setTeamName("searchA");
+
+        //when
+        Page<MemberDto> result = memberRepository.search(condition, PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "age")));
+        MemberSearchCondition teamB = new MemberSearchCondition();
+        teamB.setTeamName("searchB");
+        Page<MemberDto> byTeamB = memberRepository.search(teamB, PageRequest.of(0, 10));
+
+        //then
+        assertThat(result.getContent()).extracting(MemberDto::getUsername).containsExactly("m3", "m2");
+        assertThat(result.getContent()).extracting(MemberDto::getTeamName).containsOnly("searchA");
+        assertThat(byTeamB.getTotalElements()).isEqualTo(1);
+        //같은 속성 반복 정렬은 한 번만 적용
+        Page<MemberDto> repeated = memberRepository.search(condition,
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "age", "age", "age")));
+        assertThat(repeated.getContent()).extracting(MemberDto::getUsername).containsExactly("m3", "m2");
+    }
+
     @Test
     public void queryByExample() {
         //given